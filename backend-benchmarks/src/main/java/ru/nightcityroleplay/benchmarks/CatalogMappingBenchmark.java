@@ -0,0 +1,77 @@
+package ru.nightcityroleplay.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import ru.nightcityroleplay.backend.dto.skills.SkillDto;
+import ru.nightcityroleplay.backend.entity.Implant;
+import ru.nightcityroleplay.backend.entity.Skill;
+import ru.nightcityroleplay.backend.repo.ImplantRepository;
+import ru.nightcityroleplay.backend.repo.SkillRepository;
+import ru.nightcityroleplay.backend.service.ImplantService;
+import ru.nightcityroleplay.backend.service.SkillService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// Справочники имплантов и навыков поверх кэша.
+// implantCatalogLoad — холодная загрузка справочника: ImplantService.toDto для каждой записи и сборка снимка.
+// uniqueSkillPage — SkillService.getUniqueSkillPage по прогретому кэшу, весь справочник одной страницей.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogMappingBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int size;
+
+    private ImplantRepository implantRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private SkillService skillService;
+    private PageRequest pageable;
+
+    @Setup
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pageable = PageRequest.of(0, size);
+
+        List<Implant> implants = SyntheticData.implants(size);
+        implantRepo = mock(ImplantRepository.class, withSettings().stubOnly());
+        when(implantRepo.findAll()).thenReturn(implants);
+
+        List<Skill> skills = SyntheticData.skills(size);
+        SkillRepository skillRepo = mock(SkillRepository.class, withSettings().stubOnly());
+        when(skillRepo.findAll()).thenReturn(skills);
+        skillService = new SkillService(skillRepo, meterRegistry);
+        skillService.getSkillIds();
+    }
+
+    @Benchmark
+    public List<UUID> implantCatalogLoad() {
+        return new ImplantService(implantRepo, meterRegistry).getAllImplantIds();
+    }
+
+    @Benchmark
+    public Page<SkillDto> uniqueSkillPage() {
+        return skillService.getUniqueSkillPage(pageable);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.nightcityroleplay.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.nightcityroleplay.backend.dto.implants.ImplantDto;
+import ru.nightcityroleplay.backend.entity.Implant;
+import ru.nightcityroleplay.backend.repo.ImplantRepository;
+import ru.nightcityroleplay.backend.service.ImplantService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// ImplantService.searchImplants по прогретому кэшу с уже построенным индексом.
+// Запросы берутся из названия одного из имплантов: слово целиком, префикс, другая форма и два слова,
+// typo — слово с опечаткой, при котором индекс перебирает весь словарь.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSearchBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    private int size;
+
+    private ImplantService implantService;
+    private String word;
+    private String prefix;
+    private String twoWords;
+    private String typo;
+
+    @Setup
+    public void setUp() {
+        List<Implant> implants = SyntheticData.describedImplants(size);
+        ImplantRepository implantRepo = mock(ImplantRepository.class, withSettings().stubOnly());
+        when(implantRepo.findAll()).thenReturn(implants);
+        implantService = new ImplantService(implantRepo, new SimpleMeterRegistry());
+
+        String[] name = implants.get(size / 2).getName().split(" ");
+        word = name[0];
+        prefix = name[0].substring(0, 3);
+        twoWords = name[0] + " " + name[1];
+        typo = name[1].substring(0, 2) + "ъ" + name[1].substring(3);
+        implantService.searchImplants(word, 20);
+    }
+
+    @Benchmark
+    public List<ImplantDto> word() {
+        return implantService.searchImplants(word, 20);
+    }
+
+    @Benchmark
+    public List<ImplantDto> prefix() {
+        return implantService.searchImplants(prefix, 20);
+    }
+
+    @Benchmark
+    public List<ImplantDto> twoWords() {
+        return implantService.searchImplants(twoWords, 20);
+    }
+
+    @Benchmark
+    public List<ImplantDto> typo() {
+        return implantService.searchImplants(typo, 20);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.nightcityroleplay.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.nightcityroleplay.backend.config.StatsProperties;
+import ru.nightcityroleplay.backend.dto.character.CharacterDto;
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.repo.CharacterRepository;
+import ru.nightcityroleplay.backend.repo.ImplantRepository;
+import ru.nightcityroleplay.backend.repo.ReputationGrantRepository;
+import ru.nightcityroleplay.backend.repo.SkillRepository;
+import ru.nightcityroleplay.backend.repo.WeaponRepository;
+import ru.nightcityroleplay.backend.service.CharacterClassService;
+import ru.nightcityroleplay.backend.service.CharacterService;
+import ru.nightcityroleplay.backend.service.CharacterStatsService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// Страница персонажей целиком: маппинг в CharacterDto (toDto) и сериализация Page<CharacterDto> в JSON.
+// Репозиторий подменён заглушкой, так что в замер попадает только работа сервиса и Jackson.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterMappingBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int size;
+
+    private CharacterService characterService;
+    private PageRequest pageable;
+    private Page<CharacterDto> dtoPage;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<CharacterEntity> characters = SyntheticData.characters(size, SyntheticData.weapons(100));
+        List<UUID> ids = characters.stream().map(CharacterEntity::getId).toList();
+        pageable = PageRequest.of(0, size);
+
+        CharacterRepository characterRepo = mock(CharacterRepository.class, withSettings().stubOnly());
+        when(characterRepo.findPageIds(any())).thenReturn(new PageImpl<>(ids, pageable, size));
+        when(characterRepo.findWithWeaponsByIdIn(any())).thenReturn(characters);
+
+        var statsProperties = StatsProperties.defaults();
+        characterService = new CharacterService(
+            characterRepo,
+            new CharacterStatsService(statsProperties, new CharacterClassService(statsProperties)),
+            mock(WeaponRepository.class),
+            mock(SkillRepository.class),
+            mock(ImplantRepository.class),
+            mock(ReputationGrantRepository.class),
+            new SimpleMeterRegistry()
+        );
+        dtoPage = characterService.getCharacterPage(pageable);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public Page<CharacterDto> toDto() {
+        return characterService.getCharacterPage(pageable);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(dtoPage);
+    }
+
+    @Benchmark
+    public byte[] toDtoAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(characterService.getCharacterPage(pageable));
+    }
+}
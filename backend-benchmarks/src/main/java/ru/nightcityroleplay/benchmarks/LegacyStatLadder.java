@@ -0,0 +1,63 @@
+package ru.nightcityroleplay.benchmarks;
+
+// Расчёт характеристик цепочками if/else в том виде, в каком он был до перехода на таблицы.
+// Нужен только как точка отсчёта для StatTableBenchmark.
+final class LegacyStatLadder {
+
+    private LegacyStatLadder() {
+    }
+
+    static int implantPoints(int reputation) {
+        if (reputation < 20) {
+            return 7;
+        } else if (reputation < 30) {
+            return 8;
+        } else if (reputation < 40) {
+            return 9;
+        } else if (reputation < 60) {
+            return 10;
+        } else if (reputation < 100) {
+            return 11;
+        } else if (reputation < 150) {
+            return 13;
+        } else if (reputation < 170) {
+            return 15;
+        } else {
+            return 16;
+        }
+    }
+
+    static int specialImplantPoints(int reputation) {
+        if (reputation < 90) {
+            return 0;
+        } else if (reputation < 120) {
+            return 1;
+        } else if (reputation < 160) {
+            return 2;
+        } else if (reputation < 180) {
+            return 3;
+        } else {
+            return 4;
+        }
+    }
+
+    static int battlePoints(int age, int reputation) {
+        if (age <= 25) {
+            return 13 + reputation / 10 - 4;
+        } else if (age <= 40) {
+            return 15 + reputation / 10 - 4;
+        } else {
+            return 17 + reputation / 10 - 4;
+        }
+    }
+
+    static int soloBonus(int reputation) {
+        if (reputation < 50) {
+            return 0;
+        }
+        if (reputation < 80) {
+            return 1;
+        }
+        return 2;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.nightcityroleplay.benchmarks;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Нагрузочный тест запущенного бэкенда: clients клиентов без пауз шлют GET на один адрес, у каждого
+// в полёте ровно один запрос. Клиенты асинхронные, поэтому тысяча клиентов не требует тысячи потоков.
+// Запуск: java -cp target/benchmarks.jar -Dauth=user:password ru.nightcityroleplay.benchmarks.LoadTest
+//         http://localhost:8080/characters [clients=1000] [seconds=30] [warmupSeconds=10]
+public final class LoadTest {
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final HttpRequest request;
+    private final LongAdder errors = new LongAdder();
+    private volatile Timer latency;
+    private volatile long deadline;
+
+    private LoadTest(HttpRequest request) {
+        this.request = request;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Использование: LoadTest <url> [clients] [seconds] [warmupSeconds]");
+            System.exit(1);
+        }
+        LoadTest test = new LoadTest(request(URI.create(args[0])));
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        System.out.printf("Прогрев %d с, %d клиентов%n", warmupSeconds, clients);
+        test.run(clients, warmupSeconds);
+
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        System.out.printf("Замер %d с%n", seconds);
+        test.run(clients, seconds).report(seconds);
+    }
+
+    // GET без тела, с Basic-авторизацией из -Dauth=user:password, если она задана
+    private static HttpRequest request(URI uri) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET();
+        String auth = System.getProperty("auth");
+        if (auth != null) {
+            String token = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+            request.header("Authorization", "Basic " + token);
+        }
+        return request.build();
+    }
+
+    private LoadTest run(int clients, int seconds) {
+        latency = Timer.builder("latency")
+            .publishPercentiles(0.5, 0.9, 0.99)
+            .distributionStatisticExpiry(Duration.ofSeconds(seconds + 60L))
+            .register(new SimpleMeterRegistry());
+        errors.reset();
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<CompletableFuture<Void>> loops = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            loop(done);
+            loops.add(done);
+        }
+        CompletableFuture.allOf(loops.toArray(new CompletableFuture[0])).join();
+        return this;
+    }
+
+    // Следующий запрос клиент отправляет сразу после ответа на предыдущий
+    private void loop(CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (error != null || response.statusCode() >= 400) {
+                    errors.increment();
+                }
+                loop(done);
+            });
+    }
+
+    private void report(int seconds) {
+        long requests = latency.count();
+        System.out.printf("Запросов: %d, ошибок: %d, пропускная способность: %.1f запр/с%n",
+            requests, errors.sum(), (double) requests / seconds);
+        System.out.printf("Среднее: %.1f мс%n", latency.mean(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            System.out.printf("p%.0f: %.1f мс%n", percentile.percentile() * 100,
+                percentile.value(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ru.nightcityroleplay.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.nightcityroleplay.backend.BackendApplication;
+import ru.nightcityroleplay.backend.dto.character.CharacterDto;
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.entity.Weapon;
+import ru.nightcityroleplay.backend.service.CharacterService;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Страница персонажей из настоящей БД в читающей и в обычной транзакции. CharacterService.getCharacterPage
+// присоединяется к внешней транзакции, поэтому режим задаёт параметр readOnly. В читающей транзакции Hibernate
+// не хранит копии загруженных сущностей и не сверяет их при коммите: разницу в памяти показывает -prof gc.
+// Нужна отдельная пустая БД, недостающие персонажи досоздаются при старте:
+// java -jar target/benchmarks.jar ReadOnlyPageBenchmark -prof gc -jvmArgsAppend
+//     "-Dspring.datasource.url=jdbc:postgresql://localhost:5432/benchmark -Dspring.datasource.username=..."
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyPageBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean readOnly;
+
+    private ConfigurableApplicationContext context;
+    private CharacterService characterService;
+    private TransactionTemplate transactionTemplate;
+    private PageRequest pageable;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        context = new SpringApplicationBuilder(BackendApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--app.access-token.secret=" + Base64.getEncoder().encodeToString(secret),
+                "--logging.level.root=warn"
+            );
+        seed(context.getBean(JdbcTemplate.class), size);
+        characterService = context.getBean(CharacterService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        pageable = PageRequest.of(0, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<CharacterDto> getCharacterPage() {
+        return transactionTemplate.execute(status -> characterService.getCharacterPage(pageable));
+    }
+
+    private static void seed(JdbcTemplate jdbc, int size) {
+        Integer existing = jdbc.queryForObject("select count(*) from characters", Integer.class);
+        if (existing == null || existing >= size) {
+            return;
+        }
+        UUID ownerId = UUID.randomUUID();
+        jdbc.update("insert into users (id, username, password) values (?, ?, 'x')", ownerId, "benchmark-" + ownerId);
+        List<Weapon> weapons = SyntheticData.weapons(100);
+        jdbc.batchUpdate("""
+            insert into weapons (id, name, is_melee, weapon_type, penetration, reputation_requirement)
+            values (?, ?, ?, ?, ?, ?)
+            """, weapons, 100, (statement, weapon) -> {
+                statement.setObject(1, weapon.getId());
+                statement.setString(2, weapon.getName());
+                statement.setBoolean(3, weapon.getIsMelee());
+                statement.setString(4, weapon.getWeaponType());
+                statement.setInt(5, weapon.getPenetration());
+                statement.setInt(6, weapon.getReputationRequirement());
+            });
+        List<CharacterEntity> characters = SyntheticData.characters(size - existing, weapons);
+        // Имена персонажей уникальны, досоздаваемые продолжают нумерацию уже созданных
+        for (int i = 0; i < characters.size(); i++) {
+            characters.get(i).setName("Персонаж " + (existing + i));
+        }
+        jdbc.batchUpdate("""
+            insert into characters (id, owner_id, name, age, reputation, height, weight, organization, character_class,
+                                    battle_points, civil_points, implant_points, special_implant_points)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """, characters, 1000, (statement, character) -> {
+                statement.setObject(1, character.getId());
+                statement.setObject(2, ownerId);
+                statement.setString(3, character.getName());
+                statement.setInt(4, character.getAge());
+                statement.setInt(5, character.getReputation());
+                statement.setInt(6, character.getHeight());
+                statement.setInt(7, character.getWeight());
+                statement.setString(8, character.getOrganization());
+                statement.setString(9, character.getCharacterClass());
+                statement.setInt(10, character.getBattlePoints());
+                statement.setInt(11, character.getCivilPoints());
+                statement.setInt(12, character.getImplantPoints());
+                statement.setInt(13, character.getSpecialImplantPoints());
+            });
+        List<Object[]> owned = new ArrayList<>();
+        for (CharacterEntity character : characters) {
+            character.getWeapons().stream()
+                .distinct()
+                .forEach(weapon -> owned.add(new Object[]{character.getId(), weapon.getId()}));
+        }
+        jdbc.batchUpdate("insert into characters_weapons (char_id, weapon_id) values (?, ?)", owned);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.nightcityroleplay.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.nightcityroleplay.backend.config.StatsProperties;
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.service.CharacterClassService;
+import ru.nightcityroleplay.backend.service.CharacterStatsService;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Старые цепочки if/else против таблиц на одном и том же наборе персонажей.
+// maxReputation задаёт разброс репутации: до 250 — реальные значения, 1000 — с запасом за последним порогом.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatTableBenchmark {
+
+    private static final int CHARACTERS = 1024;
+
+    @Param({"100", "250", "1000"})
+    private int maxReputation;
+
+    private int[] reputations;
+    private int[] ages;
+    private CharacterEntity[] characters;
+    private CharacterStatsService statsService;
+    private CharacterClassService classService;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        reputations = new int[CHARACTERS];
+        ages = new int[CHARACTERS];
+        characters = new CharacterEntity[CHARACTERS];
+        for (int i = 0; i < CHARACTERS; i++) {
+            reputations[i] = random.nextInt(maxReputation + 1);
+            ages[i] = 18 + random.nextInt(50);
+            var character = new CharacterEntity();
+            character.setReputation(reputations[i]);
+            character.setCharacterClass("Соло");
+            characters[i] = character;
+        }
+        classService = new CharacterClassService(StatsProperties.defaults());
+        statsService = new CharacterStatsService(StatsProperties.defaults(), classService);
+    }
+
+    @Benchmark
+    public void ladder(Blackhole blackhole) {
+        for (int i = 0; i < CHARACTERS; i++) {
+            int reputation = reputations[i];
+            blackhole.consume(LegacyStatLadder.implantPoints(reputation) + LegacyStatLadder.soloBonus(reputation));
+            blackhole.consume(LegacyStatLadder.specialImplantPoints(reputation));
+            blackhole.consume(LegacyStatLadder.battlePoints(ages[i], reputation));
+        }
+    }
+
+    @Benchmark
+    public void table(Blackhole blackhole) {
+        for (int i = 0; i < CHARACTERS; i++) {
+            int reputation = reputations[i];
+            blackhole.consume(
+                statsService.calculateImplantPoints(reputation) + classService.bonusFromSolo(characters[i]));
+            blackhole.consume(statsService.calculateSpecialImplantPoints(reputation));
+            blackhole.consume(statsService.calculateBattlePoints(ages[i], reputation));
+        }
+    }
+}
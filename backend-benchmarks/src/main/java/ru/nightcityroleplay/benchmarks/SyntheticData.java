@@ -0,0 +1,139 @@
+package ru.nightcityroleplay.benchmarks;
+
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.entity.Implant;
+import ru.nightcityroleplay.backend.entity.Skill;
+import ru.nightcityroleplay.backend.entity.Weapon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Синтетические справочники и персонажи. Генерация детерминирована, чтобы прогоны были сравнимы.
+final class SyntheticData {
+
+    static final int SKILL_LEVELS = 10;
+
+    private static final String[] CLASSES = {"Соло", "Нетраннер", "Техник", "Медиатехник", "Кочевник"};
+    private static final String[] SYLLABLES = {
+        "ка", "ре", "ни", "ст", "ор", "ви", "ла", "то", "ми", "ан", "ке", "ро", "си", "ту", "да", "бе", "ло", "ги"
+    };
+    private static final String[] ENDINGS = {"", "ый", "ая", "ие", "ов", "ами", "ой", "ы", "а", "ение"};
+
+    private SyntheticData() {
+    }
+
+    static List<Weapon> weapons(int count) {
+        var random = new Random(1);
+        List<Weapon> weapons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            weapons.add(new Weapon()
+                .setId(UUID.randomUUID())
+                .setName("Оружие " + i)
+                .setIsMelee(random.nextBoolean())
+                .setWeaponType("Тип " + random.nextInt(10))
+                .setPenetration(random.nextInt(10))
+                .setReputationRequirement(random.nextInt(200)));
+        }
+        return weapons;
+    }
+
+    static List<CharacterEntity> characters(int count, List<Weapon> weapons) {
+        var random = new Random(2);
+        List<CharacterEntity> characters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<Weapon> owned = new ArrayList<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                owned.add(weapons.get(random.nextInt(weapons.size())));
+            }
+            characters.add(new CharacterEntity()
+                .setId(UUID.randomUUID())
+                .setOwnerId(UUID.randomUUID())
+                .setName("Персонаж " + i)
+                .setHeight(150 + random.nextInt(50))
+                .setWeight(50 + random.nextInt(60))
+                .setAge(18 + random.nextInt(50))
+                .setOrganization("Организация " + random.nextInt(20))
+                .setCharacterClass(CLASSES[random.nextInt(CLASSES.length)])
+                .setReputation(random.nextInt(250))
+                .setBattlePoints(random.nextInt(40))
+                .setCivilPoints(random.nextInt(40))
+                .setImplantPoints(7 + random.nextInt(12))
+                .setSpecialImplantPoints(random.nextInt(5))
+                .setWeapons(owned));
+        }
+        return characters;
+    }
+
+    static List<Implant> implants(int count) {
+        var random = new Random(3);
+        List<Implant> implants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var implant = new Implant();
+            implant.setId(UUID.randomUUID());
+            implant.setName("Имплант " + i);
+            implant.setImplantType("Тип " + random.nextInt(10));
+            implant.setDescription("Описание импланта " + i);
+            implant.setReputationRequirement(random.nextInt(200));
+            implant.setImplantPointsCost(random.nextInt(5));
+            implant.setSpecialImplantPointsCost(random.nextInt(2));
+            implants.add(implant);
+        }
+        return implants;
+    }
+
+    // Импланты с названиями и описаниями из случайных «русских» слов в разных формах, для поиска по тексту
+    static List<Implant> describedImplants(int count) {
+        var random = new Random(5);
+        List<Implant> implants = implants(count);
+        for (Implant implant : implants) {
+            implant.setName(words(random, 2 + random.nextInt(2)));
+            implant.setDescription(words(random, 8 + random.nextInt(5)));
+        }
+        return implants;
+    }
+
+    static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            for (int j = 2 + random.nextInt(2); j > 0; j--) {
+                text.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            text.append(ENDINGS[random.nextInt(ENDINGS.length)]);
+        }
+        return text.toString();
+    }
+
+    // Навыки идут семействами по SKILL_LEVELS уровней, порядок перемешан, как в таблице без сортировки
+    static List<Skill> skills(int count) {
+        var random = new Random(4);
+        List<Skill> skills = new ArrayList<>(count);
+        UUID familyId = null;
+        for (int i = 0; i < count; i++) {
+            int family = i / SKILL_LEVELS;
+            if (i % SKILL_LEVELS == 0) {
+                familyId = UUID.randomUUID();
+            }
+            var skill = new Skill();
+            skill.setId(UUID.randomUUID());
+            skill.setSkillFamily("Семейство " + family);
+            skill.setSkillFamilyId(familyId);
+            skill.setName("Навык " + family);
+            skill.setDescription("Описание навыка " + family);
+            skill.setSkillClass(CLASSES[family % CLASSES.length]);
+            skill.setTypeIsBattle(family % 2 == 0);
+            skill.setLevel(i % SKILL_LEVELS + 1);
+            skill.setBattleCost(random.nextInt(5));
+            skill.setCivilCost(random.nextInt(5));
+            skill.setReputationRequirement(random.nextInt(200));
+            skills.add(skill);
+        }
+        Collections.shuffle(skills, random);
+        return skills;
+    }
+}
@@ -0,0 +1,310 @@
+package ru.nightcityroleplay.backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.datasource.ReplicaRoutingDataSource;
+import ru.nightcityroleplay.backend.dto.CursorPage;
+import ru.nightcityroleplay.backend.search.CatalogSearchIndex;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+// Кэш небольшого справочника в памяти: неизменяемый снимок, который сбрасывается после каждой записи
+@Slf4j
+public class CatalogCache<T> {
+
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    private static final Comparator<String> NAME_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final String catalog;
+    private final Supplier<List<T>> loader;
+    private final Function<T, UUID> idExtractor;
+    private final Function<T, String> nameExtractor;
+    private final Function<T, List<String>> textExtractor;
+    private final Function<T, Long> versionExtractor;
+    private final AtomicLong version = new AtomicLong();
+    // Не synchronized: загрузка ходит в БД, а блокировка монитора на Java 21 прикрепляет виртуальный поток к носителю
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter reloads;
+    private volatile Snapshot<T> snapshot;
+
+    public CatalogCache(
+        String catalog,
+        Supplier<List<T>> loader,
+        Function<T, UUID> idExtractor,
+        Function<T, String> nameExtractor,
+        Function<T, List<String>> textExtractor,
+        Function<T, Long> versionExtractor,
+        MeterRegistry meterRegistry
+    ) {
+        this.catalog = catalog;
+        this.loader = loader;
+        this.idExtractor = idExtractor;
+        this.nameExtractor = nameExtractor;
+        this.textExtractor = textExtractor;
+        this.versionExtractor = versionExtractor;
+        this.hits = Counter.builder("catalog_cache_hits")
+            .tag("catalog", catalog)
+            .register(meterRegistry);
+        this.misses = Counter.builder("catalog_cache_misses")
+            .tag("catalog", catalog)
+            .register(meterRegistry);
+        this.reloads = Counter.builder("catalog_cache_reloads")
+            .tag("catalog", catalog)
+            .register(meterRegistry);
+    }
+
+    public List<T> getAll() {
+        return current().items();
+    }
+
+    // Сильный ETag для любых списков справочника: совпадает, пока не изменился ни один элемент
+    public String getEtag() {
+        return current().etag();
+    }
+
+    public Optional<T> get(UUID id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    public List<UUID> getIds() {
+        return current().ids();
+    }
+
+    // Возвращает найденные элементы в порядке запрошенных ID, отсутствующие пропускаются
+    public List<T> getBulk(Collection<UUID> ids) {
+        Map<UUID, T> byId = current().byId();
+        List<T> result = new ArrayList<>();
+        for (UUID id : ids) {
+            T item = byId.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public Page<T> getPage(Pageable pageable) {
+        return toPage(current().items(), pageable);
+    }
+
+    // Обход по курсору: двоичный поиск позиции в списке, заранее отсортированном по имени и ID
+    public CursorPage<T> scroll(KeysetCursor cursor, int size) {
+        List<T> sorted = current().sortedByName();
+        int from = 0;
+        if (cursor != null) {
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareToCursor(sorted.get(mid), cursor) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+        }
+        int to = Math.min(from + size, sorted.size());
+        List<T> content = sorted.subList(from, to);
+        String nextCursor = null;
+        if (to < sorted.size() && !content.isEmpty()) {
+            T last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(nameExtractor.apply(last), idExtractor.apply(last)).encode();
+        }
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    // Полнотекстовый поиск по названию и тексту из textExtractor. Индекс строится при первом поиске по снимку.
+    public List<T> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Пустой поисковый запрос");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(BAD_REQUEST, "Размер выдачи должен быть от 1 до " + MAX_SEARCH_LIMIT);
+        }
+        return searchIndex(current()).search(query, limit);
+    }
+
+    private CatalogSearchIndex<T> searchIndex(Snapshot<T> current) {
+        CatalogSearchIndex<T> index = current.searchIndex().get();
+        if (index == null) {
+            // При гонке индекс может построиться дважды, в снимке остаётся первый
+            current.searchIndex().compareAndSet(null,
+                new CatalogSearchIndex<>(current.sortedByName(), nameExtractor, textExtractor));
+            index = current.searchIndex().get();
+        }
+        return index;
+    }
+
+    private int compareToCursor(T item, KeysetCursor cursor) {
+        int byName = NAME_ORDER.compare(nameExtractor.apply(item), cursor.name());
+        return byName != 0 ? byName : idExtractor.apply(item).compareTo(cursor.id());
+    }
+
+    public Page<T> toPage(List<T> items, Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            items = new ArrayList<>(items);
+            items.sort(comparator(pageable.getSort()));
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(items);
+        }
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return new PageImpl<>(items.subList(from, to), pageable, items.size());
+    }
+
+    // Сбрасывает снимок после завершения текущей транзакции, чтобы не закэшировать незакоммиченные данные
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    private Snapshot<T> current() {
+        Snapshot<T> current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        return reload();
+    }
+
+    private Snapshot<T> reload() {
+        reloadLock.lock();
+        try {
+            return load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot<T> load() {
+        long loadVersion = version.get();
+        Snapshot<T> current = snapshot;
+        if (current != null && current.version() == loadVersion) {
+            return current;
+        }
+        // Снимок живёт до следующей записи, поэтому читается из основной БД, а не с отстающей реплики
+        List<T> items = List.copyOf(ReplicaRoutingDataSource.onPrimary(loader));
+        Map<UUID, T> byId = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(items.size());
+        for (T item : items) {
+            UUID id = idExtractor.apply(item);
+            byId.put(id, item);
+            ids.add(id);
+        }
+        List<T> sortedByName = new ArrayList<>(items);
+        sortedByName.sort(Comparator.comparing(nameExtractor, NAME_ORDER).thenComparing(idExtractor));
+        current = new Snapshot<>(
+            loadVersion,
+            items,
+            Map.copyOf(byId),
+            List.copyOf(ids),
+            List.copyOf(sortedByName),
+            fingerprint(sortedByName),
+            new AtomicReference<>()
+        );
+        snapshot = current;
+        reloads.increment();
+        log.info("Кэш справочника {} перезагружен, элементов: {}", catalog, items.size());
+        return current;
+    }
+
+    // Хэш ID и версий всех элементов: меняется при изменении, добавлении и удалении любого из них
+    @SneakyThrows
+    private String fingerprint(List<T> sortedByName) {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Long.BYTES);
+        for (T item : sortedByName) {
+            UUID id = idExtractor.apply(item);
+            Long itemVersion = versionExtractor.apply(item);
+            buffer.clear();
+            buffer.putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .putLong(itemVersion == null ? -1 : itemVersion);
+            digest.update(buffer.array());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<T> next = Comparator.comparing(
+                item -> property(item, order.getProperty()),
+                valueComparator(order)
+            );
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private Object property(T item, String property) {
+        try {
+            return new BeanWrapperImpl(item).getPropertyValue(property);
+        } catch (BeansException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Нельзя сортировать по полю " + property);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Object> valueComparator(Sort.Order order) {
+        Comparator<Object> comparator = (a, b) -> {
+            if (order.isIgnoreCase() && a instanceof String first && b instanceof String second) {
+                return first.compareToIgnoreCase(second);
+            }
+            return ((Comparable) a).compareTo(b);
+        };
+        if (order.isDescending()) {
+            comparator = comparator.reversed();
+        }
+        if (order.getNullHandling() == Sort.NullHandling.NULLS_FIRST) {
+            return Comparator.nullsFirst(comparator);
+        }
+        return Comparator.nullsLast(comparator);
+    }
+
+    private record Snapshot<T>(
+        long version,
+        List<T> items,
+        Map<UUID, T> byId,
+        List<UUID> ids,
+        List<T> sortedByName,
+        String etag,
+        AtomicReference<CatalogSearchIndex<T>> searchIndex
+    ) {
+    }
+}
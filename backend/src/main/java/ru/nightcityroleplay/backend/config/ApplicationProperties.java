@@ -2,8 +2,43 @@ package ru.nightcityroleplay.backend.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "app")
 public record ApplicationProperties(
-    boolean enableCors
+    boolean enableCors,
+    AuthCache authCache,
+    AccessToken accessToken,
+    SqlBudget sqlBudget,
+    Replica replica
 ) {
+
+    public record AuthCache(
+        Duration ttl,
+        long maxSize
+    ) {
+    }
+
+    public record AccessToken(
+        String secret,
+        Duration ttl
+    ) {
+    }
+
+    // Сколько SQL-запросов допустимо на один HTTP-запрос; превышение попадает в лог
+    public record SqlBudget(
+        int maxStatements
+    ) {
+    }
+
+    // Реплика для читающих транзакций. Пока url не задан, все запросы идут в основную БД.
+    // Пользователь, который только что что-то записал, в течение readYourWritesWindow читает из основной БД.
+    public record Replica(
+        String url,
+        String username,
+        String password,
+        int maximumPoolSize,
+        Duration readYourWritesWindow
+    ) {
+    }
 }
@@ -0,0 +1,61 @@
+package ru.nightcityroleplay.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ru.nightcityroleplay.backend.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+
+// Основная БД и реплика вместо автоконфигурации Spring Boot. Включается, когда задан app.replica.url.
+@Configuration
+@ConditionalOnProperty(prefix = "app.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+
+    // Настройки основного пула те же, что у автоконфигурации: spring.datasource.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ApplicationProperties properties) {
+        ApplicationProperties.Replica replica = properties.replica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.url())
+            .username(replica.username())
+            .password(replica.password())
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        if (replica.maximumPoolSize() > 0) {
+            dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primary,
+        @Qualifier("replicaDataSource") DataSource replica,
+        ApplicationProperties properties
+    ) {
+        return new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primary, replica, properties.replica().readYourWritesWindow())
+        );
+    }
+}
@@ -12,8 +12,11 @@ import org.springframework.security.config.annotation.web.configurers.CorsConfig
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import ru.nightcityroleplay.backend.security.AccessTokenAuthenticationFilter;
+import ru.nightcityroleplay.backend.security.AccessTokenService;
 
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
@@ -26,7 +29,11 @@ public class SecurityConfiguration {
 
     @Bean
     @SneakyThrows
-    public SecurityFilterChain filterChain(HttpSecurity http, Customizer<CorsConfigurer<HttpSecurity>> corsCustomizer) {
+    public SecurityFilterChain filterChain(
+        HttpSecurity http,
+        Customizer<CorsConfigurer<HttpSecurity>> corsCustomizer,
+        AccessTokenService accessTokenService
+    ) {
         return http
             .cors(corsCustomizer)
             .csrf(AbstractHttpConfigurer::disable)      // todo: enable csrf
@@ -35,6 +42,7 @@ public class SecurityConfiguration {
                 .requestMatchers(GET, "/actuator/health").permitAll()
                 .anyRequest().authenticated()
             ).httpBasic(withDefaults())
+            .addFilterBefore(new AccessTokenAuthenticationFilter(accessTokenService), BasicAuthenticationFilter.class)
             .sessionManagement(AbstractHttpConfigurer::disable)
             .build();
     }
@@ -0,0 +1,56 @@
+package ru.nightcityroleplay.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+// Пороги для расчёта характеристик персонажа. Значение действует начиная с from и до следующего порога.
+// Если в конфиге таблица не задана, используется текущий баланс.
+@ConfigurationProperties(prefix = "app.stats")
+public record StatsProperties(
+    List<Threshold> implantPoints,
+    List<Threshold> specialImplantPoints,
+    List<Threshold> soloBonus,
+    List<Threshold> battlePointsByAge
+) {
+
+    public StatsProperties {
+        implantPoints = implantPoints == null ? List.of(
+            new Threshold(0, 7),
+            new Threshold(20, 8),
+            new Threshold(30, 9),
+            new Threshold(40, 10),
+            new Threshold(60, 11),
+            new Threshold(100, 13),
+            new Threshold(150, 15),
+            new Threshold(170, 16)
+        ) : implantPoints;
+        specialImplantPoints = specialImplantPoints == null ? List.of(
+            new Threshold(0, 0),
+            new Threshold(90, 1),
+            new Threshold(120, 2),
+            new Threshold(160, 3),
+            new Threshold(180, 4)
+        ) : specialImplantPoints;
+        soloBonus = soloBonus == null ? List.of(
+            new Threshold(0, 0),
+            new Threshold(50, 1),
+            new Threshold(80, 2)
+        ) : soloBonus;
+        battlePointsByAge = battlePointsByAge == null ? List.of(
+            new Threshold(0, 13),
+            new Threshold(26, 15),
+            new Threshold(41, 17)
+        ) : battlePointsByAge;
+    }
+
+    public static StatsProperties defaults() {
+        return new StatsProperties(null, null, null, null);
+    }
+
+    public record Threshold(
+        int from,
+        int value
+    ) {
+    }
+}
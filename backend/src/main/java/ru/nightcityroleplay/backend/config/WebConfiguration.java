@@ -0,0 +1,21 @@
+package ru.nightcityroleplay.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.nightcityroleplay.backend.metrics.EndpointMetrics;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final EndpointMetrics endpointMetrics;
+
+    public WebConfiguration(EndpointMetrics endpointMetrics) {
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(endpointMetrics);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.nightcityroleplay.backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.dto.auth.AccessTokenResponse;
+import ru.nightcityroleplay.backend.entity.User;
+import ru.nightcityroleplay.backend.security.AccessTokenAuthentication;
+import ru.nightcityroleplay.backend.security.AccessTokenService;
+
+@RestController
+@RequestMapping("auth")
+@RequiredArgsConstructor
+public class AuthController {
+    private final AccessTokenService accessTokenService;
+
+    @PostMapping("token")
+    @Operation(summary = "Получить токен доступа", description = "Выдаёт Bearer-токен по логину и паролю из Basic")
+    public AccessTokenResponse issueToken(Authentication auth) {
+        // Иначе токен можно было бы продлевать бесконечно, не перечитывая роли из БД
+        if (auth instanceof AccessTokenAuthentication) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Токен выдаётся только по логину и паролю");
+        }
+        return accessTokenService.issue((User) auth.getPrincipal());
+    }
+}
@@ -6,10 +6,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import ru.nightcityroleplay.backend.dto.CursorPage;
+import ru.nightcityroleplay.backend.dto.GiveReputationBulkRequest;
 import ru.nightcityroleplay.backend.dto.GiveReputationRequest;
 import ru.nightcityroleplay.backend.dto.character.*;
 import ru.nightcityroleplay.backend.dto.implants.ImplantDto;
 import ru.nightcityroleplay.backend.service.CharacterService;
+import ru.nightcityroleplay.backend.util.ConditionalGet;
 
 import java.util.List;
 import java.util.UUID;
@@ -33,8 +37,27 @@ public class CharacterController {
         return characterService.getCharacterPage(pageable);
     }
 
+    @GetMapping("scroll")
+    public CursorPage<CharacterDto> scrollCharacters(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return characterService.scrollCharacters(cursor, size);
+    }
+
+    @GetMapping("search")
+    @Operation(summary = "Поиск персонажей", description = "Фильтрует персонажей по организации, классу, "
+        + "диапазону репутации, владельцу и началу имени")
+    public Page<CharacterDto> searchCharacters(CharacterSearchRequest request, Pageable pageable) {
+        return characterService.searchCharacters(request, pageable);
+    }
+
     @GetMapping("{characterId}")
-    public CharacterDto getCharacter(@PathVariable UUID characterId) {
+    public CharacterDto getCharacter(@PathVariable UUID characterId, ServletWebRequest webRequest) {
+        // Версия читается отдельным запросом: при неизменном персонаже связи не загружаются вовсе
+        if (ConditionalGet.notModified(webRequest, characterService.getCharacterVersion(characterId))) {
+            return null;
+        }
         return characterService.getCharacter(characterId);
     }
 
@@ -64,6 +87,14 @@ public class CharacterController {
         characterService.giveReputation(request, characterId, auth);
     }
 
+    @PostMapping("reputation/give-bulk")
+    @Operation(summary = "Массовая выплата репутации", description = "Начисляет репутацию списку персонажей "
+        + "одной транзакцией, например по итогам квеста")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public void giveReputationBulk(@RequestBody GiveReputationBulkRequest request, Authentication auth) {
+        characterService.giveReputationBulk(request, auth);
+    }
+
     @PutMapping("{characterId}/skills/force")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public void updateCharacterSkill(
@@ -107,11 +138,17 @@ public class CharacterController {
 
     @DeleteMapping("{characterId}/implants/{implantId}")
     public void deleteCharacterImplant(
-        @RequestBody UpdateCharacterImplantsRequest request,
+        @PathVariable UUID characterId,
         @PathVariable UUID implantId,
         Authentication auth
     ) {
-        characterService.updateCharacterImplants(request, implantId, auth);
+        characterService.removeCharacterImplant(characterId, implantId, auth);
+    }
+
+    @GetMapping("{characterId}/budget")
+    @Operation(summary = "Очки персонажа", description = "Доступные, потраченные и оставшиеся БО, МО, ОИ и ОИ*")
+    public CharacterBudgetDto getCharacterBudget(@PathVariable UUID characterId) {
+        return characterService.getCharacterBudget(characterId);
     }
 
     @PutMapping("{characterId}/weapons")
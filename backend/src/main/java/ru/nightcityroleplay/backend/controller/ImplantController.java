@@ -5,13 +5,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import ru.nightcityroleplay.backend.dto.CursorPage;
+import ru.nightcityroleplay.backend.dto.IdsRequest;
 import ru.nightcityroleplay.backend.dto.implants.CreateImplantRequest;
 import ru.nightcityroleplay.backend.dto.implants.CreateImplantResponse;
 import ru.nightcityroleplay.backend.dto.implants.ImplantDto;
 import ru.nightcityroleplay.backend.dto.implants.UpdateImplantRequest;
 import ru.nightcityroleplay.backend.service.ImplantService;
+import ru.nightcityroleplay.backend.util.ConditionalGet;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -31,13 +36,33 @@ public class ImplantController {
     }
 
     @GetMapping
-    public Page<ImplantDto> getImplantPage(Pageable pageble) {
+    public Page<ImplantDto> getImplantPage(Pageable pageble, ServletWebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, implantService.getImplantsEtag())) {
+            return null;
+        }
         return implantService.getImplantPage(pageble);
     }
 
+    @GetMapping("scroll")
+    public CursorPage<ImplantDto> scrollImplants(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return implantService.scrollImplants(cursor, size);
+    }
+
+    @GetMapping("search")
+    public List<ImplantDto> searchImplants(
+        @RequestParam String query,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        return implantService.searchImplants(query, limit);
+    }
+
     @GetMapping("{implantId}")
-    public ImplantDto getImplant(@PathVariable UUID implantId) {
-        return implantService.getImplant(implantId);
+    public ImplantDto getImplant(@PathVariable UUID implantId, ServletWebRequest webRequest) {
+        ImplantDto implant = implantService.getImplant(implantId);
+        return ConditionalGet.notModified(webRequest, implant.getVersion()) ? null : implant;
     }
 
     @PutMapping("{implantId}")
@@ -51,6 +76,12 @@ public class ImplantController {
         return implantService.getImplantAssignmentsCount(implantId);
     }
 
+    @PostMapping("assignments-count")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public Map<UUID, Long> getImplantAssignmentsCounts(@RequestBody IdsRequest request) {
+        return implantService.getImplantAssignmentsCounts(request);
+    }
+
     @DeleteMapping("{implantId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public void deleteImplant(@PathVariable UUID implantId, @RequestParam boolean ignoreAssignments) {
@@ -58,7 +89,10 @@ public class ImplantController {
     }
 
     @GetMapping("/ids")
-    public List<UUID> getImplantIds() {
+    public List<UUID> getImplantIds(ServletWebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, implantService.getImplantsEtag())) {
+            return null;
+        }
         return implantService.getAllImplantIds();
     }
 
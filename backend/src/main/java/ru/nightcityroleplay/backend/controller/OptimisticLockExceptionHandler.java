@@ -0,0 +1,24 @@
+package ru.nightcityroleplay.backend.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+// Запись поверх чужого изменения той же сущности: клиенту 409 вместо 500, ответ в том же формате,
+// что и у ResponseStatusException
+@Slf4j
+@RestControllerAdvice
+public class OptimisticLockExceptionHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public void handleConflict(OptimisticLockingFailureException e, HttpServletResponse response)
+        throws IOException {
+        log.info("Конфликт параллельного изменения: {}", e.getMessage());
+        response.sendError(HttpStatus.CONFLICT.value(), "Данные изменены параллельно, повторите запрос");
+    }
+}
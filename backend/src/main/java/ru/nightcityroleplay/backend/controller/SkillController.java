@@ -5,12 +5,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.nightcityroleplay.backend.dto.IdsRequest;
 import ru.nightcityroleplay.backend.dto.skills.CreateSkillRequest;
 import ru.nightcityroleplay.backend.dto.skills.CreateSkillResponse;
+import ru.nightcityroleplay.backend.dto.skills.ImportSkillFamiliesRequest;
 import ru.nightcityroleplay.backend.dto.skills.SkillDto;
 import ru.nightcityroleplay.backend.dto.skills.UpdateSkillRequest;
 import ru.nightcityroleplay.backend.service.SkillService;
+import ru.nightcityroleplay.backend.util.ConditionalGet;
 
 import java.util.List;
 import java.util.UUID;
@@ -31,6 +34,12 @@ public class SkillController {
         return skillService.createSkillFamily(request);
     }
 
+    @PostMapping("import")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<CreateSkillResponse> importSkillFamilies(@RequestBody ImportSkillFamiliesRequest request) {
+        return skillService.importSkillFamilies(request);
+    }
+
     @PutMapping("{oldSkillFamilyId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public String updateSkillsBySkillFamilyId(
@@ -48,22 +57,40 @@ public class SkillController {
     }
 
     @GetMapping
-    public Page<SkillDto> getSkillPage(Pageable pageable) {
+    public Page<SkillDto> getSkillPage(Pageable pageable, ServletWebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, skillService.getSkillsEtag())) {
+            return null;
+        }
         return skillService.getSkillPage(pageable);
     }
 
     @GetMapping("/unique")
-    public Page<SkillDto> getUniqueSkills(Pageable pageable) {
+    public Page<SkillDto> getUniqueSkills(Pageable pageable, ServletWebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, skillService.getUniqueSkillsEtag())) {
+            return null;
+        }
         return skillService.getUniqueSkillPage(pageable);
     }
 
+    @GetMapping("search")
+    public List<SkillDto> searchSkills(
+        @RequestParam String query,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        return skillService.searchSkills(query, limit);
+    }
+
     @GetMapping("{skillFamily}")
-    public SkillDto getSkill(@PathVariable String skillFamily) {
-        return skillService.getSkill(skillFamily);
+    public SkillDto getSkill(@PathVariable String skillFamily, ServletWebRequest webRequest) {
+        SkillDto skill = skillService.getSkill(skillFamily);
+        return ConditionalGet.notModified(webRequest, skill.getVersion()) ? null : skill;
     }
 
     @GetMapping("ids")
-    public List<UUID> getSkillIds() {
+    public List<UUID> getSkillIds(ServletWebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, skillService.getSkillsEtag())) {
+            return null;
+        }
         return skillService.getSkillIds();
     }
 
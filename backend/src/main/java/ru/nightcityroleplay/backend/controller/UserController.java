@@ -1,11 +1,12 @@
 package ru.nightcityroleplay.backend.controller;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import ru.nightcityroleplay.backend.dto.CursorPage;
 import ru.nightcityroleplay.backend.dto.user.CreateUserRequest;
 import ru.nightcityroleplay.backend.dto.user.CurrentUserDto;
 import ru.nightcityroleplay.backend.dto.user.UserDto;
@@ -15,20 +16,26 @@ import java.util.UUID;
 
 @RestController
 @RequestMapping("users")
-@RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
-    private final MeterRegistry meterRegistry;
+    private final Counter userCreated;
+    private final Counter currentUserRequested;
+
+    public UserController(UserService userService, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.userCreated = Counter.builder("user_created").register(meterRegistry);
+        this.currentUserRequested = Counter.builder("current_user_requested").register(meterRegistry);
+    }
 
     @PostMapping
     public CurrentUserDto createUser(@RequestBody CreateUserRequest request) {
-        meterRegistry.counter("user_created").increment();
+        userCreated.increment();
         return userService.createUser(request);
     }
 
     @GetMapping("me")
     public CurrentUserDto getCurrentUser(Authentication auth) {
-        meterRegistry.counter("current_user_requested").increment();
+        currentUserRequested.increment();
         return userService.getCurrentUser(auth);
     }
 
@@ -37,6 +44,14 @@ public class UserController {
         return userService.getUserPage(pageble);
     }
 
+    @GetMapping("scroll")
+    public CursorPage<UserDto> scrollUsers(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return userService.scrollUsers(cursor, size);
+    }
+
     @GetMapping("{userId}")
     public CurrentUserDto getUserById(@PathVariable UUID userId) {
         return userService.getUserById(userId);
@@ -6,14 +6,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.nightcityroleplay.backend.dto.weapons.CreateWeaponRequest;
 import ru.nightcityroleplay.backend.dto.weapons.CreateWeaponResponse;
+import ru.nightcityroleplay.backend.dto.CursorPage;
 import ru.nightcityroleplay.backend.dto.IdsRequest;
 import ru.nightcityroleplay.backend.dto.weapons.UpdateWeaponRequest;
 import ru.nightcityroleplay.backend.dto.weapons.WeaponDto;
 import ru.nightcityroleplay.backend.service.WeaponService;
+import ru.nightcityroleplay.backend.util.ConditionalGet;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -32,17 +36,40 @@ public class WeaponController {
     }
 
     @GetMapping
-    public Page<WeaponDto> getWeaponPage(Pageable pageable) {
+    public Page<WeaponDto> getWeaponPage(Pageable pageable, ServletWebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, weaponService.getWeaponsEtag())) {
+            return null;
+        }
         return weaponService.getWeaponPage(pageable);
     }
 
+    @GetMapping("scroll")
+    public CursorPage<WeaponDto> scrollWeapons(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return weaponService.scrollWeapons(cursor, size);
+    }
+
+    @GetMapping("search")
+    public List<WeaponDto> searchWeapons(
+        @RequestParam String query,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        return weaponService.searchWeapons(query, limit);
+    }
+
     @GetMapping("{weaponId}")
-    public WeaponDto getWeapon(@PathVariable UUID weaponId) {
-        return weaponService.getWeapon(weaponId);
+    public WeaponDto getWeapon(@PathVariable UUID weaponId, ServletWebRequest webRequest) {
+        WeaponDto weapon = weaponService.getWeapon(weaponId);
+        return ConditionalGet.notModified(webRequest, weapon.getVersion()) ? null : weapon;
     }
 
     @GetMapping("ids")
-    public List<UUID> getWeaponIds() {
+    public List<UUID> getWeaponIds(ServletWebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, weaponService.getWeaponsEtag())) {
+            return null;
+        }
         return weaponService.getWeaponIds();
     }
 
@@ -51,6 +78,12 @@ public class WeaponController {
         return weaponService.getWeaponsBulk(request);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("assignments-count")
+    public Map<UUID, Long> getWeaponAssignmentsCounts(@RequestBody IdsRequest request) {
+        return weaponService.getWeaponAssignmentsCounts(request);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PutMapping("{weaponId}")
     public void updateWeapon(@RequestBody UpdateWeaponRequest request, @PathVariable UUID weaponId) {
@@ -0,0 +1,15 @@
+package ru.nightcityroleplay.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterReputation {
+    private UUID characterId;
+    private Integer reputation;
+}
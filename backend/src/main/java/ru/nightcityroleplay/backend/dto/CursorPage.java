@@ -0,0 +1,10 @@
+package ru.nightcityroleplay.backend.dto;
+
+import java.util.List;
+
+// Порция выдачи при постраничном обходе по курсору. nextCursor равен null на последней порции.
+public record CursorPage<T>(
+    List<T> content,
+    String nextCursor
+) {
+}
@@ -0,0 +1,14 @@
+package ru.nightcityroleplay.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GiveReputationBulkRequest {
+    private List<CharacterReputation> grants;
+}
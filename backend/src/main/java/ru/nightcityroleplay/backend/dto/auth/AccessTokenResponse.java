@@ -0,0 +1,8 @@
+package ru.nightcityroleplay.backend.dto.auth;
+
+public record AccessTokenResponse(
+    String accessToken,
+    String tokenType,
+    long expiresIn
+) {
+}
@@ -0,0 +1,12 @@
+package ru.nightcityroleplay.backend.dto.character;
+
+import java.util.UUID;
+
+public record CharacterBudgetDto(
+    UUID characterId,
+    PointsBudget battlePoints,
+    PointsBudget civilPoints,
+    PointsBudget implantPoints,
+    PointsBudget specialImplantPoints
+) {
+}
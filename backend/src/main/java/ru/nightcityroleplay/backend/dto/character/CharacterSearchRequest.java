@@ -0,0 +1,20 @@
+package ru.nightcityroleplay.backend.dto.character;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Фильтры поиска персонажей. Незаданные поля не ограничивают выдачу.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CharacterSearchRequest {
+    private String organization;
+    private String characterClass;
+    private Integer minReputation;
+    private Integer maxReputation;
+    private UUID ownerId;
+    private String name;
+}
@@ -0,0 +1,11 @@
+package ru.nightcityroleplay.backend.dto.character;
+
+public record PointsBudget(
+    int available,
+    int spent,
+    int remaining
+) {
+    public static PointsBudget of(int available, int spent) {
+        return new PointsBudget(available, spent, available - spent);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.UUID;
 @Data
 public class ImplantDto {
     private UUID id;
+    private Long version;
     private String name;
     private String implantType;
     private String description;
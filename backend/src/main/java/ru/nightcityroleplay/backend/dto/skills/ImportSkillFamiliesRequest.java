@@ -0,0 +1,14 @@
+package ru.nightcityroleplay.backend.dto.skills;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSkillFamiliesRequest {
+    private List<CreateSkillRequest> families;
+}
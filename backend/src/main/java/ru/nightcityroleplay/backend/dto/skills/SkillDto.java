@@ -8,6 +8,7 @@ import java.util.UUID;
 public class SkillDto {
 
     private UUID id;
+    private Long version;
     private String skillFamily;
     private UUID skillFamilyId;
     private String name;
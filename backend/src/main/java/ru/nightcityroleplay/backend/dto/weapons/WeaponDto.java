@@ -10,6 +10,7 @@ import java.util.UUID;
 @Accessors(chain = true)
 public class WeaponDto {
     private UUID id;
+    private Long version;
     private Boolean isMelee;
     private String name;
     private String weaponType;
@@ -20,6 +20,8 @@ public class CharacterEntity {
     @Id
     @UuidGenerator
     private UUID id;
+    @Version
+    private Long version;
     private UUID ownerId;
     private String name;
     private Integer height;
@@ -30,6 +32,13 @@ public class CharacterEntity {
     private Integer reputation;
     private Integer battlePoints;
     private Integer civilPoints;
+    private Integer implantPoints;
+    private Integer specialImplantPoints;
+    // Сколько очков уже потрачено на назначенные навыки и импланты
+    private Integer spentBattlePoints = 0;
+    private Integer spentCivilPoints = 0;
+    private Integer spentImplantPoints = 0;
+    private Integer spentSpecialImplantPoints = 0;
 
     @ManyToMany
     @JoinTable(name = "characters_weapons",
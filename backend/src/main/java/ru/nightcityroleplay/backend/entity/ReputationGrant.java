@@ -0,0 +1,28 @@
+package ru.nightcityroleplay.backend.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Запись журнала: кто, кому и сколько репутации выдал
+@Entity
+@Table(name = "reputation_grants")
+@Setter
+@Getter
+@Accessors(chain = true)
+public class ReputationGrant {
+    @Id
+    @UuidGenerator
+    private UUID id;
+    private UUID characterId;
+    private int reputation;
+    private UUID grantedBy;
+    private Instant grantedAt;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.UuidGenerator;
@@ -20,6 +21,8 @@ public class Skill {
     @Id
     @UuidGenerator
     private UUID id;
+    @Version
+    private Long version;
     private String skillFamily;
     private UUID skillFamilyId;
     private String name;
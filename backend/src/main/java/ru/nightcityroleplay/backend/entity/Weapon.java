@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -22,6 +23,8 @@ public class Weapon {
     @Id
     @UuidGenerator
     private UUID id;
+    @Version
+    private Long version;
     private Boolean isMelee;
     private String name;
     @Nullable
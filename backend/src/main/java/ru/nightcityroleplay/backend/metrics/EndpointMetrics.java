@@ -0,0 +1,97 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Время и ошибки каждого эндпоинта наших контроллеров. Метрики регистрируются при старте по списку маршрутов,
+// поэтому в запросе нет поиска по реестру, а в Prometheus эндпоинт виден ещё до первого вызова.
+@Component
+public class EndpointMetrics implements HandlerInterceptor {
+
+    private static final String APPLICATION_PACKAGE = "ru.nightcityroleplay.backend";
+    private static final String START_ATTRIBUTE = EndpointMetrics.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public EndpointMetrics(
+        MeterRegistry meterRegistry,
+        ObjectProvider<RequestMappingHandlerMapping> handlerMapping
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.handlerMapping = handlerMapping;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void registerEndpoints() {
+        handlerMapping.orderedStream()
+            .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+            .filter(handler -> handler.getBeanType().getName().startsWith(APPLICATION_PACKAGE))
+            .forEach(this::meters);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Object handler,
+        Exception ex
+    ) {
+        if (!(handler instanceof HandlerMethod method)
+            || !(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        Meters endpoint = meters(method);
+        endpoint.duration().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (ex != null || response.getStatus() >= 400) {
+            endpoint.errors().increment();
+        }
+    }
+
+    private Meters meters(HandlerMethod handler) {
+        return meters.computeIfAbsent(handler.getMethod(), method -> {
+            String name = handler.getBeanType().getSimpleName() + "." + method.getName();
+            return new Meters(
+                Timer.builder("endpoint_duration")
+                    .description("Время обработки запроса эндпоинтом")
+                    .tag("handler", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry),
+                Counter.builder("endpoint_errors")
+                    .description("Запросы, завершившиеся ошибкой (статус 4xx/5xx или исключение)")
+                    .tag("handler", name)
+                    .register(meterRegistry)
+            );
+        });
+    }
+
+    private record Meters(
+        Timer duration,
+        Counter errors
+    ) {
+    }
+}
@@ -0,0 +1,65 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Время публичных методов сервисов. Таймеры регистрируются после создания бинов по списку сервисов,
+// вызов только достаёт готовый таймер по методу.
+@Aspect
+@Component
+public class ServiceMetricsAspect implements SmartInitializingSingleton {
+
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, ApplicationContext applicationContext) {
+        this.meterRegistry = meterRegistry;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Object service : applicationContext.getBeansWithAnnotation(Service.class).values()) {
+            for (Method method : AopUtils.getTargetClass(service).getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic()) {
+                    timer(method);
+                }
+            }
+        }
+    }
+
+    @Around("within(@org.springframework.stereotype.Service ru.nightcityroleplay.backend..*) "
+        + "&& execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sample.stop(timer(((MethodSignature) joinPoint.getSignature()).getMethod()));
+        }
+    }
+
+    private Timer timer(Method method) {
+        return timers.computeIfAbsent(method, key -> Timer.builder("service_method_duration")
+            .description("Время выполнения метода сервиса")
+            .tag("service", key.getDeclaringClass().getSimpleName())
+            .tag("method", key.getName())
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import org.springframework.stereotype.Component;
+
+// Считает SQL-запросы и время их выполнения в текущем потоке. Данные приходят из прокси над DataSource,
+// поэтому учитываются и запросы Hibernate, и JdbcTemplate, и нативные запросы репозиториев.
+@Component
+public class SqlStatementCounter {
+
+    // [0] — количество запросов, [1] — суммарное время в наносекундах
+    private static final ThreadLocal<long[]> STATS = ThreadLocal.withInitial(() -> new long[2]);
+
+    // Вызывается перед выполнением каждого запроса; пакет (executeBatch) считается одним запросом
+    public String inspect(String sql) {
+        STATS.get()[0]++;
+        return sql;
+    }
+
+    public void recordTime(long nanos) {
+        STATS.get()[1] += nanos;
+    }
+
+    public void reset() {
+        long[] stats = STATS.get();
+        stats[0] = 0;
+        stats[1] = 0;
+    }
+
+    public int get() {
+        return (int) STATS.get()[0];
+    }
+
+    public long getNanos() {
+        return STATS.get()[1];
+    }
+}
@@ -0,0 +1,87 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Прокси над DataSource: каждый execute* у выданных им Statement проходит через SqlStatementCounter
+public class SqlStatementMetricsDataSource extends DelegatingDataSource {
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public SqlStatementMetricsDataSource(DataSource target, SqlStatementCounter sqlStatementCounter) {
+        super(target);
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = invoke(target, method, args);
+            // createStatement, prepareStatement и prepareCall; у двух последних SQL передаётся первым аргументом
+            if (result instanceof Statement statement) {
+                return statement(statement, firstSql(args));
+            }
+            return result;
+        });
+    }
+
+    private Statement statement(Statement target, String preparedSql) {
+        Class<? extends Statement> type = target instanceof CallableStatement ? CallableStatement.class
+            : target instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        return proxy(type, (method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            String sql = firstSql(args);
+            sqlStatementCounter.inspect(sql == null ? preparedSql : sql);
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                sqlStatementCounter.recordTime(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static String firstSql(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (instance, method, args) -> handler.handle(method, args));
+        return type.cast(proxy);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.nightcityroleplay.backend.config.ApplicationProperties;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Записывает количество SQL-запросов и их суммарное время за один HTTP-запрос с разбивкой по обработчику
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationProperties properties;
+    // Набор ключей ограничен маршрутами приложения: uri берётся из шаблона, а не из пути запроса
+    private final Map<Key, Meters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        sqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = sqlStatementCounter.get();
+            long nanos = sqlStatementCounter.getNanos();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? UNKNOWN : pattern.toString();
+            String handler = handlerName(request);
+            Meters endpoint = meters(new Key(request.getMethod(), uri, handler));
+            endpoint.statements().record(statements);
+            endpoint.time().record(nanos, TimeUnit.NANOSECONDS);
+            ApplicationProperties.SqlBudget budget = properties.sqlBudget();
+            if (budget != null && statements > budget.maxStatements()) {
+                log.warn("{} {} ({}) выполнил {} SQL-запросов за {} мс при бюджете {}", request.getMethod(), uri,
+                    handler, statements, TimeUnit.NANOSECONDS.toMillis(nanos), budget.maxStatements());
+            }
+        }
+    }
+
+    private Meters meters(Key key) {
+        return meters.computeIfAbsent(key, k -> {
+            Tags tags = Tags.of("method", k.method(), "uri", k.uri(), "handler", k.handler());
+            return new Meters(
+                DistributionSummary.builder("http_request_sql_statements")
+                    .description("Количество SQL-запросов на один HTTP-запрос")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(200.0)
+                    .register(meterRegistry),
+                Timer.builder("http_request_sql_time")
+                    .description("Суммарное время SQL-запросов за один HTTP-запрос")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry)
+            );
+        });
+    }
+
+    // Контроллер и метод, которые обработали запрос
+    private static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return UNKNOWN;
+    }
+
+    private record Key(
+        String method,
+        String uri,
+        String handler
+    ) {
+    }
+
+    private record Meters(
+        DistributionSummary statements,
+        Timer time
+    ) {
+    }
+}
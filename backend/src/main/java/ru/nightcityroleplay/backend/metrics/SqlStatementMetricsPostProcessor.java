@@ -0,0 +1,31 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Оборачивает DataSource приложения прокси, который считает и замеряет SQL-запросы. Пулы основной БД и реплики
+// за маршрутизацией не оборачиваются, иначе каждый запрос был бы посчитан дважды.
+@Component
+public class SqlStatementMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    // Через ObjectProvider: постпроцессор создаётся раньше обычных бинов
+    private final ObjectProvider<SqlStatementCounter> sqlStatementCounter;
+
+    public SqlStatementMetricsPostProcessor(ObjectProvider<SqlStatementCounter> sqlStatementCounter) {
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && DATA_SOURCE.equals(beanName)
+            && !(bean instanceof SqlStatementMetricsDataSource)) {
+            return new SqlStatementMetricsDataSource(dataSource, sqlStatementCounter.getObject());
+        }
+        return bean;
+    }
+}
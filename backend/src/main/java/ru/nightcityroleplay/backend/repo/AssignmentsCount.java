@@ -0,0 +1,11 @@
+package ru.nightcityroleplay.backend.repo;
+
+import java.util.UUID;
+
+// Число персонажей, которым назначен предмет справочника
+public interface AssignmentsCount {
+
+    UUID getId();
+
+    long getAssignments();
+}
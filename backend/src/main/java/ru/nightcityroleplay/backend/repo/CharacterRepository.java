@@ -1,11 +1,56 @@
 package ru.nightcityroleplay.backend.repo;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.nightcityroleplay.backend.entity.CharacterEntity;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface CharacterRepository extends JpaRepository<CharacterEntity, UUID> {
+public interface CharacterRepository extends JpaRepository<CharacterEntity, UUID>, CharacterSearchRepository {
 
     boolean existsByName(String name);
+
+    @Query("select c.version from CharacterEntity c where c.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("select c.id from CharacterEntity c")
+    Page<UUID> findPageIds(Pageable pageable);
+
+    // Обход по курсору: сортировка по имени и ID, без запроса на общее количество
+    @Query("select c.id from CharacterEntity c order by c.name, c.id")
+    List<UUID> findIdsOrderedByName(Pageable pageable);
+
+    // Сравнение кортежей, а не name > :name or (...): только в таком виде Postgres ищет позицию по индексу
+    @Query("select c.id from CharacterEntity c where (c.name, c.id) > (:name, :id) order by c.name, c.id")
+    List<UUID> findIdsOrderedByNameAfter(String name, UUID id, Pageable pageable);
+
+    // Обход всех персонажей порциями по ID
+    @Query("select c from CharacterEntity c order by c.id")
+    List<CharacterEntity> findBatchOrderedById(Pageable pageable);
+
+    @Query("select c from CharacterEntity c where c.id > :id order by c.id")
+    List<CharacterEntity> findBatchOrderedByIdAfter(UUID id, Pageable pageable);
+
+    // Прибавка в самом UPDATE: параллельные начисления не затирают друг друга, версия растёт как при сохранении
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CharacterEntity c set c.reputation = c.reputation + :delta, c.version = c.version + 1 "
+        + "where c.id = :id")
+    int addReputation(UUID id, int delta);
+
+    // Строки блокируются в порядке ID, поэтому встречные массовые выплаты не взаимоблокируются
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from CharacterEntity c where c.id in :ids order by c.id")
+    List<CharacterEntity> findForUpdateByIdIn(Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = "weapons")
+    List<CharacterEntity> findWithWeaponsByIdIn(Collection<UUID> ids);
 }
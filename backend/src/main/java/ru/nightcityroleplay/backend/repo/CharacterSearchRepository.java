@@ -0,0 +1,14 @@
+package ru.nightcityroleplay.backend.repo;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+
+import java.util.UUID;
+
+public interface CharacterSearchRepository {
+
+    // Страница ID персонажей по условию; при равенстве полей сортировки порядок задаёт ID
+    Page<UUID> findIds(Specification<CharacterEntity> spec, Pageable pageable);
+}
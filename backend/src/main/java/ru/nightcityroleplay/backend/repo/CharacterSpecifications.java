@@ -0,0 +1,71 @@
+package ru.nightcityroleplay.backend.repo;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+
+import java.util.Locale;
+import java.util.UUID;
+
+// Условия поиска персонажей. Для незаданного значения возвращается null, Specification.and его пропускает.
+public final class CharacterSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CharacterSpecifications() {
+    }
+
+    public static Specification<CharacterEntity> organizationIs(String organization) {
+        if (organization == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("organization"), organization);
+    }
+
+    public static Specification<CharacterEntity> characterClassIs(String characterClass) {
+        if (characterClass == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("characterClass"), characterClass);
+    }
+
+    public static Specification<CharacterEntity> reputationFrom(Integer minReputation) {
+        if (minReputation == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("reputation"), minReputation);
+    }
+
+    public static Specification<CharacterEntity> reputationTo(Integer maxReputation) {
+        if (maxReputation == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("reputation"), maxReputation);
+    }
+
+    public static Specification<CharacterEntity> ownerIs(UUID ownerId) {
+        if (ownerId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+    }
+
+    // Без учёта регистра, по индексу на lower(name)
+    public static Specification<CharacterEntity> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char ch : value.toCharArray()) {
+            if (ch == '%' || ch == '_' || ch == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(ch);
+        }
+        return escaped.toString();
+    }
+}
@@ -1,12 +1,42 @@
 package ru.nightcityroleplay.backend.repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.nightcityroleplay.backend.entity.Implant;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface ImplantRepository extends JpaRepository<Implant, UUID> {
     List<Implant> findAllByIdIn(List<UUID> ids);
-}
 
+    @Query(value = "select count(*) from characters_implants where implant_id = :implantId", nativeQuery = true)
+    long countAssignments(UUID implantId);
+
+    @Query(value = "select exists(select 1 from characters_implants where implant_id = :implantId)",
+        nativeQuery = true)
+    boolean existsAssignments(UUID implantId);
+
+    @Query("select i.id as id, count(c) as assignments from Implant i join i.chars c "
+        + "where i.id in :implantIds group by i.id")
+    List<AssignmentsCount> countAssignmentsByIds(Collection<UUID> implantIds);
+
+    @Modifying
+    @Query(value = "delete from characters_implants where implant_id = :implantId", nativeQuery = true)
+    void deleteAssignments(UUID implantId);
+
+    // Сдвиг потраченных очков у всех владельцев импланта: при его удалении или изменении стоимости
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        update characters c
+        set spent_implant_points = c.spent_implant_points + :implantPoints * a.assignments,
+            spent_special_implant_points = c.spent_special_implant_points + :specialImplantPoints * a.assignments,
+            version = c.version + 1
+        from (select char_id, count(*) as assignments from characters_implants
+              where implant_id = :implantId group by char_id) a
+        where c.id = a.char_id
+        """, nativeQuery = true)
+    int addSpentPointsToOwners(UUID implantId, int implantPoints, int specialImplantPoints);
+}
@@ -0,0 +1,9 @@
+package ru.nightcityroleplay.backend.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.nightcityroleplay.backend.entity.ReputationGrant;
+
+import java.util.UUID;
+
+public interface ReputationGrantRepository extends JpaRepository<ReputationGrant, UUID> {
+}
@@ -1,9 +1,12 @@
 package ru.nightcityroleplay.backend.repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.nightcityroleplay.backend.entity.Skill;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,4 +24,28 @@ public interface SkillRepository extends JpaRepository<Skill, UUID> {
 
     List<Skill> findAllByIdIn(List<UUID> ids);
 
+    List<Skill> findAllBySkillFamilyInAndLevelIn(Collection<String> skillFamilies, Collection<Integer> levels);
+
+    @Query("select distinct s.skillFamily from Skill s where s.skillFamily in :skillFamilies")
+    List<String> findExistingSkillFamilies(Collection<String> skillFamilies);
+
+    @Query("select distinct s.skillFamilyId from Skill s where s.skillFamilyId in :skillFamilyIds")
+    List<UUID> findExistingSkillFamilyIds(Collection<UUID> skillFamilyIds);
+
+    // exists останавливается на первом назначении, а не считает все
+    @Query(value = "select exists(select 1 from characters_skills cs join skills s on s.id = cs.skill_id "
+        + "where s.skill_family_id in :skillFamilyIds)", nativeQuery = true)
+    boolean existsAssignmentsBySkillFamilyIdIn(Collection<UUID> skillFamilyIds);
+
+    @Modifying
+    @Query("delete from Skill s where s.skillFamilyId in :skillFamilyIds")
+    int deleteBySkillFamilyIdIn(Collection<UUID> skillFamilyIds);
+
+    // По одной строке на семейство навыков — его минимальный уровень. Вызывается загрузчиком кэша вне транзакции
+    // сервиса, а объявленные запросы, в отличие от findAll, своей читающей транзакции не получают.
+    @Transactional(readOnly = true)
+    @Query("select s from Skill s where s.level = "
+        + "(select min(f.level) from Skill f where f.skillFamily = s.skillFamily) order by s.skillFamily")
+    List<Skill> findLowestLevelPerFamily();
+
 }
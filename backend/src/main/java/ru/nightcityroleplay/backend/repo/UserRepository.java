@@ -1,12 +1,25 @@
 package ru.nightcityroleplay.backend.repo;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.nightcityroleplay.backend.dto.user.UserDto;
 import ru.nightcityroleplay.backend.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByUsername(String username);
+
+    // Обход по курсору: сортировка по имени и ID, роли не загружаются, общее количество не считается
+    @Query("select new ru.nightcityroleplay.backend.dto.user.UserDto(u.id, u.username) from User u "
+        + "order by u.username, u.id")
+    List<UserDto> findDtosOrderedByUsername(Pageable pageable);
+
+    @Query("select new ru.nightcityroleplay.backend.dto.user.UserDto(u.id, u.username) from User u "
+        + "where (u.username, u.id) > (:username, :id) order by u.username, u.id")
+    List<UserDto> findDtosOrderedByUsernameAfter(String username, UUID id, Pageable pageable);
 }
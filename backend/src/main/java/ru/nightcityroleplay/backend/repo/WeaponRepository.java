@@ -14,4 +14,11 @@ public interface WeaponRepository extends JpaRepository<Weapon, UUID> {
     List<UUID> findAllWeaponIds();
 
     List<Weapon> findAllByIdIn(Collection<UUID> ids);
+
+    @Query(value = "select exists(select 1 from characters_weapons where weapon_id = :weaponId)", nativeQuery = true)
+    boolean existsAssignments(UUID weaponId);
+
+    @Query("select w.id as id, count(c) as assignments from Weapon w join w.characters c "
+        + "where w.id in :weaponIds group by w.id")
+    List<AssignmentsCount> countAssignmentsByIds(Collection<UUID> weaponIds);
 }
@@ -0,0 +1,234 @@
+package ru.nightcityroleplay.backend.search;
+
+import java.util.*;
+import java.util.function.Function;
+
+// Инвертированный индекс по снимку справочника. Слово запроса совпадает с документом точно, по основе
+// (русская морфология), по префиксу или, если ничего другого не нашлось, с опечаткой.
+// Документ попадает в выдачу, только если совпали все слова запроса.
+public class CatalogSearchIndex<T> {
+
+    // Веса совпадений: в названии выше, чем в остальном тексте
+    private static final int EXACT_NAME = 12;
+    private static final int EXACT_TEXT = 5;
+    private static final int STEM_NAME = 10;
+    private static final int STEM_TEXT = 4;
+    private static final int PREFIX_NAME = 6;
+    private static final int PREFIX_TEXT = 2;
+    private static final int FUZZY_NAME = 3;
+    private static final int FUZZY_TEXT = 1;
+
+    // Опечатки ищутся только в словах не короче этого
+    private static final int FUZZY_MIN_LENGTH = 4;
+    // С этой длины допускаются две опечатки вместо одной
+    private static final int FUZZY_TWO_EDITS_LENGTH = 8;
+
+    private final List<T> items;
+    // Позиции: номер документа * 2 + 1, если слово в названии, и номер документа * 2, если в остальном тексте
+    private final Map<String, int[]> byToken;
+    private final Map<String, int[]> byStem;
+    private final String[] sortedTokens;
+
+    // Порядок items задаёт порядок документов с равным весом
+    public CatalogSearchIndex(
+        List<T> items,
+        Function<T, String> nameExtractor,
+        Function<T, List<String>> textExtractor
+    ) {
+        this.items = List.copyOf(items);
+        Map<String, List<Integer>> tokens = new HashMap<>();
+        Map<String, List<Integer>> stems = new HashMap<>();
+        for (int doc = 0; doc < this.items.size(); doc++) {
+            T item = this.items.get(doc);
+            Set<String> nameTokens = new HashSet<>(tokenize(nameExtractor.apply(item)));
+            Set<String> textTokens = new HashSet<>();
+            for (String text : textExtractor.apply(item)) {
+                textTokens.addAll(tokenize(text));
+            }
+            textTokens.removeAll(nameTokens);
+            addPostings(tokens, stems, nameTokens, doc * 2 + 1);
+            addPostings(tokens, stems, textTokens, doc * 2);
+        }
+        this.byToken = compact(tokens);
+        this.byStem = compact(stems);
+        this.sortedTokens = byToken.keySet().toArray(new String[0]);
+        Arrays.sort(sortedTokens);
+    }
+
+    public List<T> search(String query, int limit) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        int n = items.size();
+        int[] total = new int[n];
+        int[] matched = new int[n];
+        int[] best = new int[n];
+        int[] touched = new int[n];
+        for (int t = 0; t < queryTokens.size(); t++) {
+            int touchedCount = match(queryTokens.get(t), best, touched);
+            int survivors = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (matched[doc] == t) {
+                    total[doc] += best[doc];
+                    matched[doc] = t + 1;
+                    survivors++;
+                }
+                best[doc] = 0;
+            }
+            if (survivors == 0) {
+                return List.of();
+            }
+        }
+        return top(total, matched, queryTokens.size(), limit);
+    }
+
+    // Лучший вес совпадения слова запроса для каждого документа; возвращает число затронутых документов
+    private int match(String token, int[] best, int[] touched) {
+        int count = 0;
+        count = collect(byToken.get(token), EXACT_NAME, EXACT_TEXT, best, touched, count);
+        if (isCyrillic(token)) {
+            count = collect(byStem.get(RussianStemmer.stem(token)), STEM_NAME, STEM_TEXT, best, touched, count);
+        }
+        for (int i = firstWithPrefix(token); i < sortedTokens.length && sortedTokens[i].startsWith(token); i++) {
+            if (!sortedTokens[i].equals(token)) {
+                count = collect(byToken.get(sortedTokens[i]), PREFIX_NAME, PREFIX_TEXT, best, touched, count);
+            }
+        }
+        if (count == 0 && token.length() >= FUZZY_MIN_LENGTH) {
+            // Опечатку в первой букве не ищем: так перебираются только слова на ту же букву
+            int maxEdits = token.length() >= FUZZY_TWO_EDITS_LENGTH ? 2 : 1;
+            String first = token.substring(0, 1);
+            for (int i = firstWithPrefix(first); i < sortedTokens.length && sortedTokens[i].startsWith(first); i++) {
+                String candidate = sortedTokens[i];
+                if (Math.abs(candidate.length() - token.length()) <= maxEdits
+                    && editDistance(token, candidate, maxEdits) <= maxEdits) {
+                    count = collect(byToken.get(candidate), FUZZY_NAME, FUZZY_TEXT, best, touched, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    private int firstWithPrefix(String prefix) {
+        int index = Arrays.binarySearch(sortedTokens, prefix);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static int collect(int[] postings, int nameWeight, int textWeight, int[] best, int[] touched, int count) {
+        if (postings == null) {
+            return count;
+        }
+        for (int posting : postings) {
+            int doc = posting >>> 1;
+            int weight = (posting & 1) == 1 ? nameWeight : textWeight;
+            if (best[doc] == 0) {
+                touched[count++] = doc;
+            }
+            best[doc] = Math.max(best[doc], weight);
+        }
+        return count;
+    }
+
+    // Частичная сортировка: держим в куче только limit лучших документов
+    private List<T> top(int[] total, int[] matched, int required, int limit) {
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingInt(doc -> total[doc])
+            .thenComparing(Comparator.reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int doc = 0; doc < matched.length; doc++) {
+            if (matched[doc] == required) {
+                heap.add(doc);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        }
+        List<T> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(items.get(heap.poll()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static void addPostings(
+        Map<String, List<Integer>> tokens,
+        Map<String, List<Integer>> stems,
+        Set<String> docTokens,
+        int posting
+    ) {
+        Set<String> docStems = new HashSet<>();
+        for (String token : docTokens) {
+            tokens.computeIfAbsent(token, key -> new ArrayList<>()).add(posting);
+            if (isCyrillic(token)) {
+                docStems.add(RussianStemmer.stem(token));
+            }
+        }
+        for (String stem : docStems) {
+            stems.computeIfAbsent(stem, key -> new ArrayList<>()).add(posting);
+        }
+    }
+
+    private static Map<String, int[]> compact(Map<String, List<Integer>> postings) {
+        Map<String, int[]> result = new HashMap<>(postings.size() * 2);
+        postings.forEach((key, list) -> result.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    // Слова из букв и цифр в нижнем регистре, «ё» приравнивается к «е»
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char ch = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(ch)) {
+                current.append(ch == 'ё' ? 'е' : ch);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static boolean isCyrillic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.UnicodeBlock.of(token.charAt(i)) == Character.UnicodeBlock.CYRILLIC) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Расстояние Левенштейна; как только оно точно больше max, возвращается max + 1
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
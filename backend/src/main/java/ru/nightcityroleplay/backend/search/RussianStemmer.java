@@ -0,0 +1,137 @@
+package ru.nightcityroleplay.backend.search;
+
+// Стеммер Портера (Snowball) для русского языка: отрезает окончания, чтобы разные формы слова давали одну основу.
+// Ожидает слово в нижнем регистре с «ё», заменённой на «е».
+public final class RussianStemmer {
+
+    private static final String VOWELS = "аеиоуыэюя";
+
+    private static final String[] PERFECTIVE_GERUND_1 = {"вшись", "вши", "в"};
+    private static final String[] PERFECTIVE_GERUND_2 = {"ившись", "ывшись", "ивши", "ывши", "ив", "ыв"};
+    private static final String[] ADJECTIVE = {
+        "ими", "ыми", "его", "ого", "ему", "ому", "ее", "ие", "ые", "ое", "ей", "ий", "ый", "ой", "ем", "им", "ым",
+        "ом", "их", "ых", "ую", "юю", "ая", "яя", "ою", "ею"
+    };
+    private static final String[] PARTICIPLE_1 = {"ем", "нн", "вш", "ющ", "щ"};
+    private static final String[] PARTICIPLE_2 = {"ивш", "ывш", "ующ"};
+    private static final String[] REFLEXIVE = {"ся", "сь"};
+    private static final String[] VERB_1 = {
+        "ете", "йте", "ешь", "нно", "ла", "на", "ли", "ем", "ло", "но", "ет", "ют", "ны", "ть", "й", "л", "н"
+    };
+    private static final String[] VERB_2 = {
+        "ейте", "уйте", "ила", "ыла", "ена", "ите", "или", "ыли", "ило", "ыло", "ено", "ует", "уют", "ены", "ить",
+        "ыть", "ишь", "ей", "уй", "ил", "ыл", "им", "ым", "ен", "ят", "ит", "ыт", "ую", "ю"
+    };
+    private static final String[] NOUN = {
+        "иями", "ями", "ами", "ией", "иям", "ием", "иях", "ев", "ов", "ие", "ье", "еи", "ии", "ей", "ой", "ий", "ям",
+        "ем", "ам", "ом", "ах", "ях", "ию", "ью", "ия", "ья", "а", "е", "и", "й", "о", "у", "ы", "ь", "ю", "я"
+    };
+    private static final String[] SUPERLATIVE = {"ейше", "ейш"};
+    private static final String[] DERIVATIONAL = {"ость", "ост"};
+    private static final String[] I = {"и"};
+    private static final String[] SOFT_SIGN = {"ь"};
+
+    private RussianStemmer() {
+    }
+
+    public static String stem(String word) {
+        int rv = regionAfterFirstVowel(word);
+        if (rv >= word.length()) {
+            return word;
+        }
+        int r2 = regionAfterVowelConsonant(word, regionAfterVowelConsonant(word, 0));
+        StringBuilder w = new StringBuilder(word);
+
+        // Шаг 1: деепричастие, либо возвратная частица и затем прилагательное, глагол или существительное
+        if (!removeConditional(w, rv, PERFECTIVE_GERUND_1, PERFECTIVE_GERUND_2)) {
+            removeAny(w, rv, REFLEXIVE);
+            if (removeAny(w, rv, ADJECTIVE)) {
+                removeConditional(w, rv, PARTICIPLE_1, PARTICIPLE_2);
+            } else if (!removeConditional(w, rv, VERB_1, VERB_2)) {
+                removeAny(w, rv, NOUN);
+            }
+        }
+        // Шаг 2
+        removeAny(w, rv, I);
+        // Шаг 3: словообразовательный суффикс только в R2
+        removeAny(w, r2, DERIVATIONAL);
+        // Шаг 4
+        if (endsWith(w, rv, "нн")) {
+            w.setLength(w.length() - 1);
+        } else if (removeAny(w, rv, SUPERLATIVE)) {
+            if (endsWith(w, rv, "нн")) {
+                w.setLength(w.length() - 1);
+            }
+        } else {
+            removeAny(w, rv, SOFT_SIGN);
+        }
+        return w.toString();
+    }
+
+    // Снимает самое длинное подходящее окончание, целиком лежащее в области, начинающейся с from
+    private static boolean removeAny(StringBuilder w, int from, String[] endings) {
+        String ending = longestEnding(w, from, endings);
+        if (ending == null) {
+            return false;
+        }
+        w.setLength(w.length() - ending.length());
+        return true;
+    }
+
+    // Окончания первой группы снимаются только после «а» или «я», которые остаются в основе
+    private static boolean removeConditional(StringBuilder w, int from, String[] afterAOrYa, String[] plain) {
+        String first = longestEnding(w, from, afterAOrYa);
+        String second = longestEnding(w, from, plain);
+        if (second != null && (first == null || second.length() >= first.length())) {
+            w.setLength(w.length() - second.length());
+            return true;
+        }
+        if (first != null) {
+            int before = w.length() - first.length() - 1;
+            if (before >= from && (w.charAt(before) == 'а' || w.charAt(before) == 'я')) {
+                w.setLength(w.length() - first.length());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String longestEnding(StringBuilder w, int from, String[] endings) {
+        String longest = null;
+        for (String ending : endings) {
+            if (endsWith(w, from, ending) && (longest == null || ending.length() > longest.length())) {
+                longest = ending;
+            }
+        }
+        return longest;
+    }
+
+    private static boolean endsWith(StringBuilder w, int from, String ending) {
+        int start = w.length() - ending.length();
+        return start >= from && w.indexOf(ending, start) == start;
+    }
+
+    // RV: часть слова после первой гласной
+    private static int regionAfterFirstVowel(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (isVowel(word.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return word.length();
+    }
+
+    // R1: часть слова после первой согласной, следующей за гласной
+    private static int regionAfterVowelConsonant(String word, int from) {
+        for (int i = from + 1; i < word.length(); i++) {
+            if (!isVowel(word.charAt(i)) && isVowel(word.charAt(i - 1))) {
+                return i + 1;
+            }
+        }
+        return word.length();
+    }
+
+    private static boolean isVowel(char ch) {
+        return VOWELS.indexOf(ch) >= 0;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.nightcityroleplay.backend.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import ru.nightcityroleplay.backend.entity.User;
+
+// Аутентификация по токену доступа: пользователь восстановлен из токена без обращения к БД
+public class AccessTokenAuthentication extends AbstractAuthenticationToken {
+
+    private final User user;
+
+    public AccessTokenAuthentication(User user) {
+        super(user.getAuthorities());
+        this.user = user;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return user;
+    }
+}
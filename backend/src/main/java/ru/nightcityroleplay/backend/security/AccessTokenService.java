@@ -0,0 +1,108 @@
+package ru.nightcityroleplay.backend.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.nightcityroleplay.backend.config.ApplicationProperties;
+import ru.nightcityroleplay.backend.dto.auth.AccessTokenResponse;
+import ru.nightcityroleplay.backend.entity.Role;
+import ru.nightcityroleplay.backend.entity.User;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Выдаёт и проверяет подписанные HMAC токены доступа. Проверка не требует обращения к БД
+@Service
+@Slf4j
+public class AccessTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public AccessTokenService(ObjectMapper objectMapper, ApplicationProperties props) {
+        this.objectMapper = objectMapper;
+        this.ttl = props.accessToken().ttl();
+        String secret = props.accessToken().secret();
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.access-token.secret не задан, токены доступа перестанут действовать после перезапуска");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    @SneakyThrows(JsonProcessingException.class)
+    public AccessTokenResponse issue(User user) {
+        List<String> roles = user.getRoles().stream().map(Role::getName).toList();
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        var claims = new Claims(user.getId(), user.getUsername(), roles, expiresAt);
+        String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        String token = payload + "." + ENCODER.encodeToString(sign(payload));
+        return new AccessTokenResponse(token, "Bearer", ttl.toSeconds());
+    }
+
+    // Возвращает пользователя из токена, если подпись верна и срок действия не истёк
+    public Optional<User> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        Claims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            claims = objectMapper.readValue(DECODER.decode(payload), Claims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+        if (Instant.now().getEpochSecond() >= claims.exp()) {
+            return Optional.empty();
+        }
+        List<Role> roles = claims.roles().stream()
+            .map(name -> Role.builder().name(name).build())
+            .toList();
+        return Optional.of(User.builder()
+            .id(claims.sub())
+            .username(claims.username())
+            .roles(roles)
+            .build());
+    }
+
+    @SneakyThrows
+    private byte[] sign(String payload) {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(key);
+        return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private record Claims(
+        UUID sub,
+        String username,
+        List<String> roles,
+        long exp
+    ) {
+    }
+}
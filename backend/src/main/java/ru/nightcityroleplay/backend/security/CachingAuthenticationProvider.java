@@ -0,0 +1,111 @@
+package ru.nightcityroleplay.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.SneakyThrows;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import ru.nightcityroleplay.backend.config.ApplicationProperties;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.concurrent.Semaphore;
+
+// Запоминает успешные входы по логину и хэшу пароля, чтобы не ходить в БД и не считать BCrypt на каждый запрос
+@Component
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final DaoAuthenticationProvider delegate;
+    private final Cache<String, CachedAuthentication> cache;
+    private final SecretKeySpec credentialKey;
+    // BCrypt занимает ядро целиком: одновременных проверок не больше, чем ядер. На виртуальных потоках
+    // всплеск входов иначе займёт все потоки-носители, и остальные запросы встанут в очередь за ним.
+    private final Semaphore passwordChecks = new Semaphore(Runtime.getRuntime().availableProcessors());
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    public CachingAuthenticationProvider(
+        UserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder,
+        ApplicationProperties props,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = new DaoAuthenticationProvider();
+        this.delegate.setUserDetailsService(userDetailsService);
+        this.delegate.setPasswordEncoder(passwordEncoder);
+        // Записи устаревают только по TTL: смены пароля и ролей в приложении нет, а после правки в БД
+        // старые пароль и роли действуют до истечения app.auth-cache.ttl
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(props.authCache().maxSize())
+            .expireAfterWrite(props.authCache().ttl())
+            .build();
+        // Ключ живёт только в памяти процесса, поэтому хэши паролей в кэше нельзя подобрать офлайн
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.credentialKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.hitTimer = Timer.builder("authentication_duration")
+            .tag("cache", "hit")
+            .register(meterRegistry);
+        this.missTimer = Timer.builder("authentication_duration")
+            .tag("cache", "miss")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample sample = Timer.start();
+        String username = authentication.getName();
+        byte[] credentialHash = hash(username, String.valueOf(authentication.getCredentials()));
+        CachedAuthentication cached = cache.getIfPresent(username);
+        if (cached != null && MessageDigest.isEqual(cached.credentialHash(), credentialHash)) {
+            sample.stop(hitTimer);
+            return UsernamePasswordAuthenticationToken.authenticated(cached.principal(), null, cached.authorities());
+        }
+        Authentication result;
+        passwordChecks.acquireUninterruptibly();
+        try {
+            result = delegate.authenticate(authentication);
+        } finally {
+            passwordChecks.release();
+        }
+        cache.put(username, new CachedAuthentication(credentialHash, result.getPrincipal(), result.getAuthorities()));
+        sample.stop(missTimer);
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    @SneakyThrows
+    private byte[] hash(String username, String password) {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(credentialKey);
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record CachedAuthentication(
+        byte[] credentialHash,
+        Object principal,
+        Collection<? extends GrantedAuthority> authorities
+    ) {
+    }
+}
@@ -1,21 +1,23 @@
 package ru.nightcityroleplay.backend.service;
 
 import org.springframework.stereotype.Service;
+import ru.nightcityroleplay.backend.config.StatsProperties;
 import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.stats.StatTable;
 
 @Service
 public class CharacterClassService {
+
+    private final StatTable soloBonus;
+
+    public CharacterClassService(StatsProperties statsProperties) {
+        this.soloBonus = StatTable.compile("solo-bonus", statsProperties.soloBonus());
+    }
+
     public int bonusFromSolo(CharacterEntity character) {
-        if (!character.getCharacterClass().equals("Соло")) {
+        if (!"Соло".equals(character.getCharacterClass())) {
             return 0;
         }
-        if (character.getReputation() < 50) {
-            return 0;
-        }
-        if (character.getReputation() < 80) {
-            return 1;
-        }
-        return 2;
+        return soloBonus.get(character.getReputation());
     }
 }
-
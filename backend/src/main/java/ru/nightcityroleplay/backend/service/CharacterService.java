@@ -1,9 +1,14 @@
 package ru.nightcityroleplay.backend.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -15,10 +20,14 @@ import ru.nightcityroleplay.backend.dto.character.*;
 import ru.nightcityroleplay.backend.dto.implants.ImplantDto;
 import ru.nightcityroleplay.backend.entity.*;
 import ru.nightcityroleplay.backend.repo.CharacterRepository;
+import ru.nightcityroleplay.backend.repo.CharacterSpecifications;
 import ru.nightcityroleplay.backend.repo.ImplantRepository;
+import ru.nightcityroleplay.backend.repo.ReputationGrantRepository;
 import ru.nightcityroleplay.backend.repo.SkillRepository;
 import ru.nightcityroleplay.backend.repo.WeaponRepository;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,27 +38,54 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @Slf4j
 public class CharacterService {
 
+    public static final int MAX_BULK_REPUTATION_GRANTS = 1000;
+
+    // Поля, по которым разрешено сортировать результаты поиска
+    private static final Set<String> SEARCH_SORT_PROPERTIES =
+        Set.of("name", "age", "reputation", "organization", "characterClass");
+
     private final CharacterRepository characterRepo;
     private final CharacterStatsService characterStatsService;
-    private final CharacterClassService characterClassService;
     private final WeaponRepository weaponRepo;
     private final SkillRepository skillRepo;
     private final ImplantRepository implantRepo;
+    private final ReputationGrantRepository reputationGrantRepo;
+    private final Counter skillsAssigned;
+    private final Counter skillsUpgraded;
+    private final Counter implantsInstalled;
+    private final Counter implantsRemoved;
+    private final Counter reputationGranted;
 
     public CharacterService(
         CharacterRepository characterRepo,
         CharacterStatsService characterStatsService,
-        CharacterClassService characterClassService,
         WeaponRepository weaponRepo,
         SkillRepository skillRepo,
-        ImplantRepository implantRepo
+        ImplantRepository implantRepo,
+        ReputationGrantRepository reputationGrantRepo,
+        MeterRegistry meterRegistry
     ) {
         this.characterStatsService = characterStatsService;
-        this.characterClassService = characterClassService;
         this.characterRepo = characterRepo;
         this.weaponRepo = weaponRepo;
         this.skillRepo = skillRepo;
         this.implantRepo = implantRepo;
+        this.reputationGrantRepo = reputationGrantRepo;
+        this.skillsAssigned = Counter.builder("character_skills_assigned")
+            .description("Навыки, выданные персонажам при старте или администратором")
+            .register(meterRegistry);
+        this.skillsUpgraded = Counter.builder("character_skills_upgraded")
+            .description("Повышения уровня навыков персонажей")
+            .register(meterRegistry);
+        this.implantsInstalled = Counter.builder("character_implants_installed")
+            .description("Импланты, встроенные персонажам")
+            .register(meterRegistry);
+        this.implantsRemoved = Counter.builder("character_implants_removed")
+            .description("Импланты, снятые с персонажей")
+            .register(meterRegistry);
+        this.reputationGranted = Counter.builder("character_reputation_granted")
+            .description("Начисленная персонажам репутация, очков")
+            .register(meterRegistry);
     }
 
 
@@ -68,10 +104,8 @@ public class CharacterService {
         characterDto.setCharacterClass(character.getCharacterClass());
         characterDto.setWeaponIds(weaponIds);
         characterDto.setReputation(character.getReputation());
-        characterDto.setImplantPoints(characterStatsService.calculateImplantPoints(character.getReputation())
-            + characterClassService.bonusFromSolo(character));
-        characterDto.setSpecialImplantPoints(characterStatsService.calculateSpecialImplantPoints
-            (character.getReputation()));
+        characterDto.setImplantPoints(character.getImplantPoints());
+        characterDto.setSpecialImplantPoints(character.getSpecialImplantPoints());
         characterDto.setBattlePoints(character.getBattlePoints());
         characterDto.setCivilPoints(character.getCivilPoints());
         return characterDto;
@@ -115,18 +149,79 @@ public class CharacterService {
         return new CreateCharacterResponse(character.getId());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<CharacterDto> getCharacterPage(Pageable pageable) {
-        Page<CharacterEntity> characterPage = characterRepo.findAll(pageable);
-        List<CharacterEntity> characters = characterPage.toList();
+        // Сначала берём только ID страницы, затем одним запросом грузим персонажей вместе с оружием
+        Page<UUID> idPage = characterRepo.findPageIds(pageable);
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, idPage.getTotalElements());
+        }
+        return new PageImpl<>(loadInOrder(idPage.getContent()), pageable, idPage.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CharacterDto> scrollCharacters(String cursor, int size) {
+        KeysetCursor.validateSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        // Берём на одну запись больше, чтобы без count понять, есть ли следующая порция
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UUID> ids = position == null
+            ? characterRepo.findIdsOrderedByName(limit)
+            : characterRepo.findIdsOrderedByNameAfter(position.name(), position.id(), limit);
+        boolean hasNext = ids.size() > size;
+        List<CharacterDto> characters = loadInOrder(hasNext ? ids.subList(0, size) : ids);
+        String nextCursor = null;
+        if (hasNext) {
+            CharacterDto last = characters.get(characters.size() - 1);
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+        return new CursorPage<>(characters, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CharacterDto> searchCharacters(CharacterSearchRequest request, Pageable pageable) {
+        if (request.getMinReputation() != null && request.getMaxReputation() != null
+            && request.getMinReputation() > request.getMaxReputation()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Минимальная репутация больше максимальной");
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SEARCH_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new ResponseStatusException(BAD_REQUEST, "Сортировка по полю " + order.getProperty()
+                    + " не поддерживается");
+            }
+        }
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("name"));
+        }
+        Specification<CharacterEntity> spec = Specification
+            .where(CharacterSpecifications.organizationIs(request.getOrganization()))
+            .and(CharacterSpecifications.characterClassIs(request.getCharacterClass()))
+            .and(CharacterSpecifications.reputationFrom(request.getMinReputation()))
+            .and(CharacterSpecifications.reputationTo(request.getMaxReputation()))
+            .and(CharacterSpecifications.ownerIs(request.getOwnerId()))
+            .and(CharacterSpecifications.nameStartsWith(request.getName()));
+        Page<UUID> idPage = characterRepo.findIds(spec, pageable);
+        return new PageImpl<>(loadInOrder(idPage.getContent()), pageable, idPage.getTotalElements());
+    }
+
+    private List<CharacterDto> loadInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, CharacterEntity> charactersById = characterRepo.findWithWeaponsByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(CharacterEntity::getId, character -> character));
         List<CharacterDto> characterDtos = new ArrayList<>();
-        for (var character : characters) {
-            characterDtos.add(toDto(character));
+        for (UUID characterId : ids) {
+            CharacterEntity character = charactersById.get(characterId);
+            if (character != null) {
+                characterDtos.add(toDto(character));
+            }
         }
-        return new PageImpl<>(characterDtos, pageable, characterPage.getTotalElements());
+        return characterDtos;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public CharacterDto getCharacter(UUID characterId) {
         Optional<CharacterEntity> byId = characterRepo.findById(characterId);
         if (byId.isEmpty()) {
@@ -135,6 +230,26 @@ public class CharacterService {
         return toDto(byId.get());
     }
 
+    // Дешёвая проверка актуальности для ETag: только версия, без загрузки персонажа и связей
+    @Transactional(readOnly = true)
+    public long getCharacterVersion(UUID characterId) {
+        return characterRepo.findVersionById(characterId).orElseThrow(() ->
+            new ResponseStatusException(NOT_FOUND, "Персонаж " + characterId + " не найден"));
+    }
+
+    @Transactional(readOnly = true)
+    public CharacterBudgetDto getCharacterBudget(UUID characterId) {
+        CharacterEntity character = characterRepo.findById(characterId).orElseThrow(() ->
+            new ResponseStatusException(NOT_FOUND, "Персонаж " + characterId + " не найден"));
+        return new CharacterBudgetDto(
+            characterId,
+            PointsBudget.of(points(character.getBattlePoints()), character.getSpentBattlePoints()),
+            PointsBudget.of(points(character.getCivilPoints()), character.getSpentCivilPoints()),
+            PointsBudget.of(points(character.getImplantPoints()), character.getSpentImplantPoints()),
+            PointsBudget.of(points(character.getSpecialImplantPoints()), character.getSpentSpecialImplantPoints())
+        );
+    }
+
     @Transactional
     public void updateCharacter(UpdateCharacterRequest request, UUID characterId) {
         validate(request);
@@ -142,6 +257,8 @@ public class CharacterService {
         CharacterEntity character = characterRepo.findById(characterId).orElseThrow(() ->
             new ResponseStatusException(HttpStatus.NOT_FOUND, "Персонаж " + characterId + " не найден"));
         newCharacter.setId(characterId);
+        // Без версии Spring Data сочтёт объект новым и попытается вставить его
+        newCharacter.setVersion(character.getVersion());
         newCharacter.setOwnerId(character.getOwnerId());
         newCharacter.setName(request.getName());
         newCharacter.setHeight(request.getHeight());
@@ -150,23 +267,85 @@ public class CharacterService {
         newCharacter.setOrganization(request.getOrganization());
         newCharacter.setCharacterClass(request.getCharacterClass());
         newCharacter.setReputation(character.getReputation());
+        // Иначе merge затрёт назначенные навыки, импланты и оружие вместе с потраченными на них очками
+        newCharacter.setWeapons(character.getWeapons());
+        newCharacter.setSkills(character.getSkills());
+        newCharacter.setImplants(character.getImplants());
+        newCharacter.setSpentBattlePoints(character.getSpentBattlePoints());
+        newCharacter.setSpentCivilPoints(character.getSpentCivilPoints());
+        newCharacter.setSpentImplantPoints(character.getSpentImplantPoints());
+        newCharacter.setSpentSpecialImplantPoints(character.getSpentSpecialImplantPoints());
         characterStatsService.updateCharacterStats(newCharacter);
         characterRepo.save(newCharacter);
         log.info("Персонаж {} изменён", newCharacter.getId());
     }
 
 
-    @PreAuthorize("hasRole('Role_ADMIN')")
+    @Transactional
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
     public void giveReputation(GiveReputationRequest request, UUID characterId, Authentication auth) {
+        int rewardReputation = request.getReputation();
+        if (characterRepo.addReputation(characterId, rewardReputation) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Персонаж не найден");
+        }
+        // Строка заблокирована нашим UPDATE до конца транзакции, так что очки считаются от итоговой репутации
         CharacterEntity character = characterRepo.findById(characterId).orElseThrow(() ->
             new ResponseStatusException(HttpStatus.NOT_FOUND, "Персонаж не найден"));
+        characterStatsService.updateCharacterStats(character);
 
         Object principal = auth.getPrincipal();
         User user = (User) principal;
-        int rewardReputation = request.getReputation();
-        character.setReputation(character.getReputation() + rewardReputation);
+        reputationGrantRepo.save(reputationGrant(characterId, rewardReputation, user, Instant.now()));
+        reputationGranted.increment(rewardReputation);
         log.info("{} выдал персонажу {} репутацию {}", user.getUsername(), characterId, rewardReputation);
-        characterRepo.save(character);
+    }
+
+    // Выплата за массовый квест: одна транзакция, один пакет UPDATE по персонажам и пакет записей в журнал
+    @Transactional
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public void giveReputationBulk(GiveReputationBulkRequest request, Authentication auth) {
+        List<CharacterReputation> grants = request.getGrants();
+        if (grants == null || grants.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Список начислений пуст");
+        }
+        if (grants.size() > MAX_BULK_REPUTATION_GRANTS) {
+            throw new ResponseStatusException(BAD_REQUEST,
+                "За один запрос можно выдать не больше " + MAX_BULK_REPUTATION_GRANTS + " начислений");
+        }
+        Map<UUID, Integer> totals = new HashMap<>();
+        for (CharacterReputation grant : grants) {
+            if (grant.getCharacterId() == null || grant.getReputation() == null) {
+                throw new ResponseStatusException(BAD_REQUEST, "В начислении не указан персонаж или репутация");
+            }
+            totals.merge(grant.getCharacterId(), grant.getReputation(), Integer::sum);
+        }
+        List<CharacterEntity> characters = characterRepo.findForUpdateByIdIn(totals.keySet());
+        if (characters.size() != totals.size()) {
+            Set<UUID> missing = new LinkedHashSet<>(totals.keySet());
+            characters.forEach(character -> missing.remove(character.getId()));
+            throw new ResponseStatusException(NOT_FOUND, "Персонажи не найдены: " + missing);
+        }
+        // Изменения уходят при коммите пакетом UPDATE (hibernate.jdbc.batch_size)
+        for (CharacterEntity character : characters) {
+            character.setReputation(character.getReputation() + totals.get(character.getId()));
+            characterStatsService.updateCharacterStats(character);
+        }
+
+        User user = (User) auth.getPrincipal();
+        Instant grantedAt = Instant.now();
+        reputationGrantRepo.saveAll(grants.stream()
+            .map(grant -> reputationGrant(grant.getCharacterId(), grant.getReputation(), user, grantedAt))
+            .toList());
+        totals.values().forEach(reputationGranted::increment);
+        log.info("{} выдал репутацию {} персонажам одной выплатой", user.getUsername(), characters.size());
+    }
+
+    private static ReputationGrant reputationGrant(UUID characterId, int reputation, User user, Instant grantedAt) {
+        return new ReputationGrant()
+            .setCharacterId(characterId)
+            .setReputation(reputation)
+            .setGrantedBy(user.getId())
+            .setGrantedAt(grantedAt);
     }
 
     @Transactional
@@ -177,10 +356,13 @@ public class CharacterService {
         List<Skill> skills = new ArrayList<>();
         int totalBattlePoints = 0;
         int totalCivilPoints = 0;
+        Map<UUID, Skill> skillsById = findSkillsById(request.getSkillIds());
         // Проверка наличия навыка и суммирование стоимости
         for (UUID skillId : request.getSkillIds()) {
-            Skill skill = skillRepo.findById(skillId).orElseThrow(() ->
-                new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык с ID" + skillId + "не найден"));
+            Skill skill = skillsById.get(skillId);
+            if (skill == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык с ID" + skillId + "не найден");
+            }
             if (character.getReputation() < skill.getReputationRequirement()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Данный уровень навыка не доступен на репутации изменяемого персонажа");
@@ -189,10 +371,10 @@ public class CharacterService {
             totalBattlePoints += skill.getBattleCost();
             totalCivilPoints += skill.getCivilCost();
         }
-        if (character.getBattlePoints() < totalBattlePoints) {
+        if (remainingBattlePoints(character) < totalBattlePoints) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Недостаточно БО для выбранного уровня навыка");
         }
-        if (character.getCivilPoints() < totalCivilPoints) {
+        if (remainingCivilPoints(character) < totalCivilPoints) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Недостаточно МО для выбранного уровня навыка");
         }
         // Создаем или обновляем список имплантов персонажа
@@ -200,7 +382,9 @@ public class CharacterService {
             character.setSkills(new ArrayList<>());
         }
         character.getSkills().addAll(skills);
+        spendSkillPoints(character, totalBattlePoints, totalCivilPoints);
         characterRepo.save(character);
+        skillsAssigned.increment(skills.size());
     }
 
     @Transactional
@@ -225,10 +409,13 @@ public class CharacterService {
         int totalCivilPoints = 0;
 
         if (character.getSkills().isEmpty()) {
+            Map<UUID, Skill> skillsById = findSkillsById(request.getSkillIds());
             // Проверяем, что все навыки, которые выбираются, находятся на первом уровне
             for (UUID skillId : request.getSkillIds()) {
-                Skill skill = skillRepo.findById(skillId).orElseThrow(() ->
-                    new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык с ID " + skillId + " не найден"));
+                Skill skill = skillsById.get(skillId);
+                if (skill == null) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык с ID " + skillId + " не найден");
+                }
 
                 if (skill.getLevel() != 1) {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
@@ -238,11 +425,11 @@ public class CharacterService {
                 totalBattlePoints += skill.getBattleCost();
                 totalCivilPoints += skill.getCivilCost();
             }
-            if (character.getBattlePoints() < totalBattlePoints) {
+            if (remainingBattlePoints(character) < totalBattlePoints) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Недостаточно БО для выбранных навыков. Сбавь колличество навыков и повтори попытку");
             }
-            if (character.getCivilPoints() < totalCivilPoints) {
+            if (remainingCivilPoints(character) < totalCivilPoints) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Недостаточно МО для выбранных навыков. Сбавь колличество навыков и повтори попытку");
             }
@@ -250,7 +437,9 @@ public class CharacterService {
                 character.setSkills(new ArrayList<>());
             }
             character.getSkills().addAll(skills);
+            spendSkillPoints(character, totalBattlePoints, totalCivilPoints);
             characterRepo.save(character);
+            skillsAssigned.increment(skills.size());
         } else throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Вы уже выбрали первые навыки");
     }
 
@@ -271,9 +460,14 @@ public class CharacterService {
         int totalBattlePoints = 0;
         int totalCivilPoints = 0;
 
+        Map<UUID, Skill> currentSkillsById = findSkillsById(request.getSkillIds());
+        Map<SkillLevelKey, Skill> nextSkills = findNextLevelSkills(currentSkillsById.values());
+
         for (UUID skillId : request.getSkillIds()) {
-            Skill currentSkill = skillRepo.findById(skillId).orElseThrow(() ->
-                new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык с ID " + skillId + " не найден"));
+            Skill currentSkill = currentSkillsById.get(skillId);
+            if (currentSkill == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык с ID " + skillId + " не найден");
+            }
             if (character.getReputation() < currentSkill.getReputationRequirement()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Нынешний уровень навыка не доступен на вашей репутации");
@@ -283,9 +477,10 @@ public class CharacterService {
             if (nextLevel > 10) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Достигнут максимальный уровень навыка");
             }
-            Skill nextSkill = skillRepo.findBySkillFamilyAndLevel(currentSkill.getSkillFamily(), nextLevel)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-                    "Навык уровня " + nextLevel + " не найден"));
+            Skill nextSkill = nextSkills.get(new SkillLevelKey(currentSkill.getSkillFamily(), nextLevel));
+            if (nextSkill == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык уровня " + nextLevel + " не найден");
+            }
             // Проверка репутации для следующего уровня навыка
             if (character.getReputation() < nextSkill.getReputationRequirement()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
@@ -301,17 +496,70 @@ public class CharacterService {
             totalBattlePoints += nextSkill.getBattleCost() - existingSkill.getBattleCost();
             totalCivilPoints += nextSkill.getCivilCost() - existingSkill.getCivilCost();
         }
-        if (character.getBattlePoints() < totalBattlePoints) {
+        // Доплачивается только разница между уровнями
+        if (remainingBattlePoints(character) < totalBattlePoints) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Недостаточно БО для выбранного уровня навыка");
         }
-        if (character.getCivilPoints() < totalCivilPoints) {
+        if (remainingCivilPoints(character) < totalCivilPoints) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Недостаточно МО для выбранного уровня навыка");
         }
         character.getSkills().addAll(skillsToAdd);
+        spendSkillPoints(character, totalBattlePoints, totalCivilPoints);
         characterRepo.save(character);
+        skillsUpgraded.increment(skillsToAdd.size());
     }
 
-    @Transactional
+    private static int remainingBattlePoints(CharacterEntity character) {
+        return points(character.getBattlePoints()) - character.getSpentBattlePoints();
+    }
+
+    private static int remainingCivilPoints(CharacterEntity character) {
+        return points(character.getCivilPoints()) - character.getSpentCivilPoints();
+    }
+
+    private static void spendSkillPoints(CharacterEntity character, int battlePoints, int civilPoints) {
+        character.setSpentBattlePoints(character.getSpentBattlePoints() + battlePoints);
+        character.setSpentCivilPoints(character.getSpentCivilPoints() + civilPoints);
+    }
+
+    // Очки ещё не посчитаны (колонки заполняет пересчёт при старте) — считаем, что их нет
+    private static int points(Integer points) {
+        return points == null ? 0 : points;
+    }
+
+    // Загружает все запрошенные навыки одним запросом
+    private Map<UUID, Skill> findSkillsById(List<UUID> skillIds) {
+        if (skillIds.isEmpty()) {
+            return Map.of();
+        }
+        return skillRepo.findAllByIdIn(skillIds).stream()
+            .collect(Collectors.toMap(Skill::getId, skill -> skill));
+    }
+
+    // Загружает следующие уровни для всех переданных навыков одним запросом
+    private Map<SkillLevelKey, Skill> findNextLevelSkills(Collection<Skill> currentSkills) {
+        Set<String> skillFamilies = new HashSet<>();
+        Set<Integer> nextLevels = new HashSet<>();
+        for (Skill skill : currentSkills) {
+            if (skill.getLevel() < 10) {
+                skillFamilies.add(skill.getSkillFamily());
+                nextLevels.add(skill.getLevel() + 1);
+            }
+        }
+        if (skillFamilies.isEmpty()) {
+            return Map.of();
+        }
+        Map<SkillLevelKey, Skill> nextSkills = new HashMap<>();
+        for (Skill skill : skillRepo.findAllBySkillFamilyInAndLevelIn(skillFamilies, nextLevels)) {
+            nextSkills.put(new SkillLevelKey(skill.getSkillFamily(), skill.getLevel()), skill);
+        }
+        return nextSkills;
+    }
+
+    private record SkillLevelKey(String skillFamily, int level) {
+    }
+
+    @Transactional(readOnly = true)
     public List<ImplantDto> getCharacterImplants(UUID characterId) {
         Optional<CharacterEntity> character = characterRepo.findById(characterId);
         if (character.isEmpty()) {
@@ -393,7 +641,37 @@ public class CharacterService {
 
         // Обновляем характеристики персонажа и сохраняем
         character.getImplants().addAll(implantsToAdd);
+        for (Implant implant : implantsToAdd) {
+            spendImplantPoints(character, implant.getImplantPointsCost(), implant.getSpecialImplantPointsCost());
+        }
         characterRepo.save(character);
+        implantsInstalled.increment(implantsToAdd.size());
+    }
+
+    @Transactional
+    public void removeCharacterImplant(UUID characterId, UUID implantId, Authentication auth) {
+        CharacterEntity character = characterRepo.findById(characterId).orElseThrow(() ->
+            new ResponseStatusException(NOT_FOUND, "Персонаж не найден"));
+        User user = (User) auth.getPrincipal();
+        if (!character.getOwnerId().equals(user.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Вы не можете удалять импланты чужому персонажу");
+        }
+        Implant implant = character.getImplants().stream()
+            .filter(i -> i.getId().equals(implantId))
+            .findFirst()
+            .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Имплант с ID " + implantId
+                + " не найден у персонажа"));
+        character.getImplants().remove(implant);
+        // Очки возвращаются по нынешней стоимости: при её изменении потраченные очки владельцев пересчитываются
+        spendImplantPoints(character, -implant.getImplantPointsCost(), -implant.getSpecialImplantPointsCost());
+        characterRepo.save(character);
+        implantsRemoved.increment();
+        log.info("Имплант {} снят с персонажа {}", implantId, characterId);
+    }
+
+    private static void spendImplantPoints(CharacterEntity character, int implantPoints, int specialImplantPoints) {
+        character.setSpentImplantPoints(character.getSpentImplantPoints() + implantPoints);
+        character.setSpentSpecialImplantPoints(character.getSpentSpecialImplantPoints() + specialImplantPoints);
     }
 
     // Проверяет импланты и возвращает список имплантов, которые можно добавить
@@ -421,11 +699,11 @@ public class CharacterService {
             totalSpecialImplantPointsCost += implant.getSpecialImplantPointsCost();
         }
 
-        // Проверяем, достаточно ли ресурсов у персонажа
-        if (characterStatsService.calculateImplantPoints(character.getReputation()) < totalImplantPointsCost) {
+        // Проверяем, достаточно ли ресурсов у персонажа с учётом уже встроенных имплантов
+        if (points(character.getImplantPoints()) - character.getSpentImplantPoints() < totalImplantPointsCost) {
             throw new ResponseStatusException(BAD_REQUEST, "Недостаточно ОИ для обычных имплантов");
         }
-        if (characterStatsService.calculateSpecialImplantPoints(character.getReputation())
+        if (points(character.getSpecialImplantPoints()) - character.getSpentSpecialImplantPoints()
             < totalSpecialImplantPointsCost) {
             throw new ResponseStatusException(BAD_REQUEST, "Недостаточно ОИ* для специальных имплантов");
         }
@@ -0,0 +1,140 @@
+package ru.nightcityroleplay.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.repo.CharacterRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Пересчёт сохранённых характеристик всех персонажей при старте: заполняет колонки после миграции и исправляет
+// значения, если в конфиге поменялись таблицы порогов. В БД уходят только изменившиеся строки.
+@Slf4j
+@Component
+public class CharacterStatsRecalculation implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CharacterRepository characterRepo;
+    private final CharacterStatsService characterStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    public CharacterStatsRecalculation(
+        CharacterRepository characterRepo,
+        CharacterStatsService characterStatsService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.characterRepo = characterRepo;
+        this.characterStatsService = characterStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int changed = recalculateAll();
+        log.info("Характеристики пересчитаны, изменено персонажей: {}", changed);
+    }
+
+    public int recalculateAll() {
+        int changed = 0;
+        UUID after = null;
+        boolean hasNext = true;
+        while (hasNext) {
+            UUID from = after;
+            Batch batch;
+            try {
+                batch = transactionTemplate.execute(status -> recalculateBatch(from));
+            } catch (OptimisticLockingFailureException e) {
+                // Пересчёт идёт, когда приложение уже принимает запросы: пакет откатился из-за параллельного
+                // изменения одного персонажа, остальные пересчитываем по одному
+                log.warn("Пакет персонажей после {} изменён параллельно, пересчёт по одному: {}", from, e.getMessage());
+                batch = recalculateOneByOne(from);
+            }
+            changed += batch.changed();
+            after = batch.lastId();
+            hasNext = batch.size() == BATCH_SIZE;
+        }
+        return changed;
+    }
+
+    private Batch recalculateBatch(UUID after) {
+        List<CharacterEntity> characters = findBatch(after);
+        int changed = 0;
+        for (CharacterEntity character : characters) {
+            if (recalculate(character)) {
+                changed++;
+            }
+        }
+        return new Batch(characters.size(), changed, lastId(characters, after));
+    }
+
+    // Каждый персонаж в своей транзакции: конфликт перечитывает только его, пакет идёт дальше
+    private Batch recalculateOneByOne(UUID after) {
+        List<CharacterEntity> characters = transactionTemplate.execute(status -> findBatch(after));
+        int changed = 0;
+        for (CharacterEntity character : characters) {
+            if (recalculateWithRetry(character.getId())) {
+                changed++;
+            }
+        }
+        return new Batch(characters.size(), changed, lastId(characters, after));
+    }
+
+    private boolean recalculateWithRetry(UUID id) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> characterRepo.findById(id)
+                    .map(this::recalculate)
+                    .orElse(false)));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    log.error("Характеристики персонажа {} не пересчитаны за {} попыток", id, MAX_ATTEMPTS, e);
+                    return false;
+                }
+            }
+        }
+    }
+
+    private List<CharacterEntity> findBatch(UUID after) {
+        Pageable limit = PageRequest.ofSize(BATCH_SIZE);
+        return after == null
+            ? characterRepo.findBatchOrderedById(limit)
+            : characterRepo.findBatchOrderedByIdAfter(after, limit);
+    }
+
+    private boolean recalculate(CharacterEntity character) {
+        List<Integer> before = stats(character);
+        characterStatsService.updateCharacterStats(character);
+        return !before.equals(stats(character));
+    }
+
+    private static UUID lastId(List<CharacterEntity> characters, UUID after) {
+        return characters.isEmpty() ? after : characters.get(characters.size() - 1).getId();
+    }
+
+    private static List<Integer> stats(CharacterEntity character) {
+        return Arrays.asList(
+            character.getBattlePoints(),
+            character.getCivilPoints(),
+            character.getImplantPoints(),
+            character.getSpecialImplantPoints()
+        );
+    }
+
+    private record Batch(
+        int size,
+        int changed,
+        UUID lastId
+    ) {
+    }
+}
@@ -1,7 +1,9 @@
 package ru.nightcityroleplay.backend.service;
 
 import org.springframework.stereotype.Service;
+import ru.nightcityroleplay.backend.config.StatsProperties;
 import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.stats.StatTable;
 
 
 @Service
@@ -9,56 +11,40 @@ public class CharacterStatsService {
 
     private static final int BP_COMPENSATION = 4;
 
+    private final StatTable implantPoints;
+    private final StatTable specialImplantPoints;
+    private final StatTable battlePointsByAge;
+    private final CharacterClassService characterClassService;
+
+    public CharacterStatsService(StatsProperties statsProperties, CharacterClassService characterClassService) {
+        this.implantPoints = StatTable.compile("implant-points", statsProperties.implantPoints());
+        this.specialImplantPoints = StatTable.compile(
+            "special-implant-points", statsProperties.specialImplantPoints());
+        this.battlePointsByAge = StatTable.compile("battle-points-by-age", statsProperties.battlePointsByAge());
+        this.characterClassService = characterClassService;
+    }
+
+    // Производные характеристики хранятся в персонаже; вызывать при каждом изменении репутации, возраста или класса
     public void updateCharacterStats(CharacterEntity character) {
 
         character.setBattlePoints(calculateBattlePoints(character.getAge(), character.getReputation()));
         character.setCivilPoints(calculateCivilPoints(character.getReputation()));
+        character.setImplantPoints(calculateImplantPoints(character.getReputation())
+            + characterClassService.bonusFromSolo(character));
+        character.setSpecialImplantPoints(calculateSpecialImplantPoints(character.getReputation()));
     }
 
 
     public int calculateImplantPoints(int reputation) {
-        if (reputation < 20) {
-            return 7;
-        } else if (reputation < 30) {
-            return 8;
-        } else if (reputation < 40) {
-            return 9;
-        } else if (reputation < 60) {
-            return 10;
-        } else if (reputation < 100) {
-            return 11;
-        } else if (reputation < 150) {
-            return 13;
-        } else if (reputation < 170) {
-            return 15;
-        } else {
-            return 16;
-        }
+        return implantPoints.get(reputation);
     }
 
     public int calculateSpecialImplantPoints(int reputation) {
-        if (reputation < 90) {
-            return 0;
-        } else if (reputation < 120) {
-            return 1;
-        } else if (reputation < 160) {
-            return 2;
-        } else if (reputation < 180) {
-            return 3;
-        } else {
-            return 4;
-        }
+        return specialImplantPoints.get(reputation);
     }
 
     public int calculateBattlePoints(int age, int reputation) {
-
-        if (age <= 25) {
-            return 13 + reputation / 10 - BP_COMPENSATION;
-        } else if (age <= 40) {
-            return 15 + reputation / 10 - BP_COMPENSATION;
-        } else {
-            return 17 + reputation / 10 - BP_COMPENSATION;
-        }
+        return battlePointsByAge.get(age) + reputation / 10 - BP_COMPENSATION;
     }
 
 
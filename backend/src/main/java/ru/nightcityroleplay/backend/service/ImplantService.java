@@ -1,27 +1,32 @@
 package ru.nightcityroleplay.backend.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.cache.CatalogCache;
+import ru.nightcityroleplay.backend.dto.CursorPage;
+import ru.nightcityroleplay.backend.dto.IdsRequest;
 import ru.nightcityroleplay.backend.dto.implants.CreateImplantRequest;
 import ru.nightcityroleplay.backend.dto.implants.CreateImplantResponse;
 import ru.nightcityroleplay.backend.dto.implants.ImplantDto;
 import ru.nightcityroleplay.backend.dto.implants.UpdateImplantRequest;
 import ru.nightcityroleplay.backend.entity.Implant;
+import ru.nightcityroleplay.backend.repo.AssignmentsCount;
 import ru.nightcityroleplay.backend.repo.ImplantRepository;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
-import static java.util.stream.Collectors.toList;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 
@@ -30,15 +35,26 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 public class ImplantService {
 
     private final ImplantRepository implantRepo;
+    private final CatalogCache<ImplantDto> implantCache;
 
 
-    public ImplantService(ImplantRepository implantRepo) {
+    public ImplantService(ImplantRepository implantRepo, MeterRegistry meterRegistry) {
         this.implantRepo = implantRepo;
+        this.implantCache = new CatalogCache<>(
+            "implants",
+            () -> implantRepo.findAll().stream().map(this::toDto).toList(),
+            ImplantDto::getId,
+            ImplantDto::getName,
+            implant -> Arrays.asList(implant.getImplantType(), implant.getDescription()),
+            ImplantDto::getVersion,
+            meterRegistry
+        );
     }
 
     private ImplantDto toDto(Implant implant) {
         ImplantDto implantDto = new ImplantDto();
         implantDto.setId(implant.getId());
+        implantDto.setVersion(implant.getVersion());
         implantDto.setName(implant.getName());
         implantDto.setImplantType(implant.getImplantType());
         implantDto.setDescription(implant.getDescription());
@@ -92,7 +108,6 @@ public class ImplantService {
 
         // Создание импланта.
         Implant implant = new Implant();
-        implant.setId(UUID.randomUUID());
         implant.setName(request.getName());
         implant.setImplantType(request.getImplantType());
         implant.setDescription(request.getDescription());
@@ -100,36 +115,57 @@ public class ImplantService {
         implant.setImplantPointsCost(request.getImplantPointsCost());
         implant.setSpecialImplantPointsCost(request.getSpecialImplantPointsCost());
         implant = implantRepo.save(implant);
+        implantCache.invalidate();
 
         log.info("Имплант с именем {} успешно создан пользователем {}",
             request.getName(), auth.getName());
         return new CreateImplantResponse(implant.getId());
     }
 
-    @Transactional
+    public String getImplantsEtag() {
+        return implantCache.getEtag();
+    }
+
     public Page<ImplantDto> getImplantPage(Pageable pageable) {
-        Page<Implant> implantPage = implantRepo.findAll(pageable);
-        List<Implant> implants = implantPage.toList();
-        List<ImplantDto> implantDtos = new ArrayList<>();
-        for (Implant implant : implants) {
-            implantDtos.add(toDto(implant));
-        }
-        return new PageImpl<>(implantDtos, pageable, implantPage.getTotalElements());
+        return implantCache.getPage(pageable);
+    }
+
+    public CursorPage<ImplantDto> scrollImplants(String cursor, int size) {
+        KeysetCursor.validateSize(size);
+        return implantCache.scroll(KeysetCursor.decode(cursor), size);
+    }
+
+    public List<ImplantDto> searchImplants(String query, int limit) {
+        return implantCache.search(query, limit);
     }
 
-    @Transactional
     public ImplantDto getImplant(UUID implantId) {
-        Optional<Implant> implantById = implantRepo.findById(implantId);
-        return implantById.map(this::toDto).orElse(null);
+        return implantCache.get(implantId)
+            .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Имплант не найден"));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Integer getImplantAssignmentsCount(UUID implantId) {
-        Optional<Implant> implantById = implantRepo.findById(implantId);
-        if (implantById.isEmpty()) {
+        if (!implantRepo.existsById(implantId)) {
             throw new ResponseStatusException(NOT_FOUND, "Имплант " + implantId + " не найден");
         }
-        return implantById.get().getChars().size();
+        return Math.toIntExact(implantRepo.countAssignments(implantId));
+    }
+
+    // Счётчики назначений для набора имплантов одним сгруппированным запросом, без назначений — 0
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> getImplantAssignmentsCounts(IdsRequest request) {
+        Map<UUID, Long> counts = new LinkedHashMap<>();
+        for (UUID implantId : request.getIds()) {
+            counts.put(implantId, 0L);
+        }
+        if (counts.isEmpty()) {
+            return counts;
+        }
+        for (AssignmentsCount count : implantRepo.countAssignmentsByIds(counts.keySet())) {
+            counts.put(count.getId(), count.getAssignments());
+        }
+        return counts;
     }
 
     @Transactional
@@ -163,6 +199,9 @@ public class ImplantService {
         Implant existingImplant = implantRepo.findById(implantId).orElseThrow(() ->
             new ResponseStatusException(HttpStatus.NOT_FOUND, "Имплант не найден")
         );
+        final int implantPointsDelta = request.getImplantPointsCost() - existingImplant.getImplantPointsCost();
+        final int specialImplantPointsDelta =
+            request.getSpecialImplantPointsCost() - existingImplant.getSpecialImplantPointsCost();
         // Обновление существующего импланта с указанными характеристиками
         existingImplant.setName(request.getName());
         existingImplant.setImplantType(request.getImplantType());
@@ -172,6 +211,11 @@ public class ImplantService {
         existingImplant.setSpecialImplantPointsCost(request.getSpecialImplantPointsCost());
 
         implantRepo.save(existingImplant);
+        // Потраченные очки владельцев следуют за новой стоимостью, иначе при снятии импланта вернётся не то
+        if (implantPointsDelta != 0 || specialImplantPointsDelta != 0) {
+            implantRepo.addSpentPointsToOwners(implantId, implantPointsDelta, specialImplantPointsDelta);
+        }
+        implantCache.invalidate();
         log.info("Имплант с ID: {} был успешно обновлен", implantId);
     }
 
@@ -185,34 +229,30 @@ public class ImplantService {
             log.info("Имплант {} не найден", implantId);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Имплант не найден");
         }
-        if (!ignoreAssignments) {
-            if (!implant.getChars().isEmpty()) {
-                log.info("Не удалось удалить имплант с ID {}: так как он встроен в персонажей", implantId);
-                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
-                    "Запрещено удаление импланта, так как он встроен в персонажей");
-            }
-            implantRepo.delete(implant);
-            log.info("Имплант с ID {} был успешно удалён", implantId);
-            return;
+        if (!ignoreAssignments && implantRepo.existsAssignments(implantId)) {
+            log.info("Не удалось удалить имплант с ID {}: так как он встроен в персонажей", implantId);
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Запрещено удаление импланта, так как он встроен в персонажей");
         }
 
+        // Связи хранятся на стороне персонажа, поэтому при удалении назначенного импланта их чистим явно
+        // и возвращаем владельцам потраченные на него очки
+        implantRepo.addSpentPointsToOwners(implantId, -implant.getImplantPointsCost(),
+            -implant.getSpecialImplantPointsCost());
+        implantRepo.deleteAssignments(implantId);
         implantRepo.delete(implant);
+        implantCache.invalidate();
         log.info("Имплант с ID {} был успешно удалён", implantId);
     }
 
     // Получение списка всех ID имплантов
     public List<UUID> getAllImplantIds() {
-        return implantRepo.findAll().stream()
-            .map(Implant::getId)
-            .collect(toList());
+        return implantCache.getIds();
     }
 
     // Получение деталей имплантов по списку ID
     public List<ImplantDto> getBulkImplants(List<UUID> implantIds) {
-        return implantRepo.findAllById(implantIds)
-            .stream()
-            .map(this::toDto)
-            .collect(toList());
+        return implantCache.getBulk(implantIds);
     }
 
 }
@@ -1,24 +1,28 @@
 package ru.nightcityroleplay.backend.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.cache.CatalogCache;
 import ru.nightcityroleplay.backend.dto.IdsRequest;
 import ru.nightcityroleplay.backend.dto.skills.CreateSkillRequest;
 import ru.nightcityroleplay.backend.dto.skills.CreateSkillResponse;
+import ru.nightcityroleplay.backend.dto.skills.ImportSkillFamiliesRequest;
 import ru.nightcityroleplay.backend.dto.skills.SkillDto;
 import ru.nightcityroleplay.backend.dto.skills.UpdateSkillRequest;
 import ru.nightcityroleplay.backend.entity.Skill;
 import ru.nightcityroleplay.backend.repo.SkillRepository;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -28,14 +32,39 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 public class SkillService {
 
     private final SkillRepository skillRepo;
+    private final CatalogCache<SkillDto> skillCache;
+    private final CatalogCache<SkillDto> uniqueSkillCache;
 
-    public SkillService(SkillRepository skillRepo) {
+    public SkillService(SkillRepository skillRepo, MeterRegistry meterRegistry) {
         this.skillRepo = skillRepo;
+        this.skillCache = new CatalogCache<>(
+            "skills",
+            () -> skillRepo.findAll().stream().map(this::toDto).toList(),
+            SkillDto::getId,
+            SkillDto::getName,
+            SkillService::searchText,
+            SkillDto::getVersion,
+            meterRegistry
+        );
+        this.uniqueSkillCache = new CatalogCache<>(
+            "unique-skills",
+            () -> skillRepo.findLowestLevelPerFamily().stream().map(this::toDto).toList(),
+            SkillDto::getId,
+            SkillDto::getName,
+            SkillService::searchText,
+            SkillDto::getVersion,
+            meterRegistry
+        );
+    }
+
+    private static List<String> searchText(SkillDto skill) {
+        return Arrays.asList(skill.getDescription(), skill.getSkillFamily(), skill.getSkillClass());
     }
 
     private SkillDto toDto(Skill skill) {
         SkillDto skillDto = new SkillDto();
         skillDto.setId(skill.getId());
+        skillDto.setVersion(skill.getVersion());
         skillDto.setSkillFamily(skill.getSkillFamily());
         skillDto.setSkillFamilyId(skill.getSkillFamilyId());
         skillDto.setName(skill.getName());
@@ -51,26 +80,69 @@ public class SkillService {
 
     @Transactional
     public List<CreateSkillResponse> createSkillFamily(CreateSkillRequest baseRequest) {
-        if (baseRequest.getName() == null || baseRequest.getName().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Название навыка не может быть пустым.");
+        validateFamily(baseRequest);
+        List<Skill> skills = skillRepo.saveAll(buildSkillFamily(baseRequest));
+        List<CreateSkillResponse> responses = new ArrayList<>();
+        for (Skill skill : skills) {
+            log.info("Навык {} уровня {} был создан", skill.getId(), skill.getLevel());
+            responses.add(new CreateSkillResponse(skill.getId()));
         }
+        invalidateCaches();
+        return responses;
+    }
 
-        UUID skillFamilyId = UUID.randomUUID();
+    // Все уровни всех семейств сохраняются одной пачкой в одной транзакции, вставки уходят JDBC-батчами
+    @Transactional
+    public List<CreateSkillResponse> importSkillFamilies(ImportSkillFamiliesRequest request) {
+        if (request.getFamilies() == null || request.getFamilies().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Список семейств навыков пуст");
+        }
+        Set<String> skillFamilies = new HashSet<>();
+        for (CreateSkillRequest family : request.getFamilies()) {
+            validateFamily(family);
+            if (!skillFamilies.add(family.getSkillFamily())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Семейство навыков " + family.getSkillFamily() + " указано несколько раз");
+            }
+        }
+        List<String> existing = skillRepo.findExistingSkillFamilies(skillFamilies);
+        if (!existing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Семейства навыков уже существуют: " + String.join(", ", existing));
+        }
 
-        List<CreateSkillResponse> responses = new ArrayList<>();
+        List<Skill> skills = new ArrayList<>();
+        for (CreateSkillRequest family : request.getFamilies()) {
+            skills.addAll(buildSkillFamily(family));
+        }
+        List<CreateSkillResponse> responses = skillRepo.saveAll(skills).stream()
+            .map(skill -> new CreateSkillResponse(skill.getId()))
+            .toList();
+        log.info("Импортировано семейств навыков: {}, навыков: {}", skillFamilies.size(), responses.size());
+        invalidateCaches();
+        return responses;
+    }
 
+    private void validateFamily(CreateSkillRequest request) {
+        if (request.getName() == null || request.getName().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Название навыка не может быть пустым.");
+        }
+        if (request.getTypeIsBattle() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Не указан тип навыка " + request.getName());
+        }
+    }
+
+    private List<Skill> buildSkillFamily(CreateSkillRequest request) {
+        UUID skillFamilyId = UUID.randomUUID();
+        List<Skill> skills = new ArrayList<>();
         for (int level = 1; level <= 10; level++) {
-            Skill skill = buildSkill(baseRequest, level, skillFamilyId);
-            skill = skillRepo.save(skill);
-            log.info("Навык {} уровня {} был создан", skill.getId(), level);
-            responses.add(new CreateSkillResponse(skill.getId()));
+            skills.add(buildSkill(request, level, skillFamilyId));
         }
-        return responses;
+        return skills;
     }
 
     Skill buildSkill(CreateSkillRequest request, int level, UUID skillFamilyId) {
         Skill skill = new Skill();
-        skill.setId(UUID.randomUUID());
         skill.setSkillFamily(request.getSkillFamily());
         skill.setSkillFamilyId(skillFamilyId);
         skill.setName(request.getName());
@@ -160,87 +232,65 @@ public class SkillService {
             skillRepo.save(oldSkill);
             log.info("Навык с skillFamily {} обновлён", oldSkill.getSkillFamily());
         }
+        invalidateCaches();
     }
 
+    // Три запроса при любом числе семейств, уровней и персонажей: проверка наличия, проверка назначений, удаление
     @Transactional
     public void deleteSkillsBySkillFamilyId(List<UUID> skillFamilyIds) {
+        Set<UUID> existing = new HashSet<>(skillRepo.findExistingSkillFamilyIds(skillFamilyIds));
         for (UUID skillFamilyId : skillFamilyIds) {
-            List<Skill> skills = skillRepo.findBySkillFamilyId(skillFamilyId);
-            if (skills == null || skills.isEmpty()) {
+            if (!existing.contains(skillFamilyId)) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Навык " + skillFamilyId + " не найден");
             }
-            for (Skill skill : skills) {
-                if (!skill.getCharacters().isEmpty()) {
-                    throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
-                        "Этот навык есть как минимум у одного персонажа!");
-                }
-                skillRepo.delete(skill);
-                log.info("Навык {} удалён", skillFamilyId);
-            }
         }
-    }
-
-    @Transactional
-    public Page<SkillDto> getSkillPage(Pageable pageable) {
-        Page<Skill> skillPage = skillRepo.findAll(pageable);
-        List<Skill> skills = skillPage.toList();
-        List<SkillDto> skillDtos = new ArrayList<>();
-        for (Skill skill : skills) {
-            skillDtos.add(toDto(skill));
+        if (skillRepo.existsAssignmentsBySkillFamilyIdIn(skillFamilyIds)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Этот навык есть как минимум у одного персонажа!");
         }
-        return new PageImpl<>(skillDtos, pageable, skillPage.getTotalElements());
+        int deleted = skillRepo.deleteBySkillFamilyIdIn(skillFamilyIds);
+        log.info("Семейства навыков {} удалены, навыков: {}", skillFamilyIds, deleted);
+        invalidateCaches();
     }
 
-    @Transactional
-    public Page<SkillDto> getUniqueSkillPage(Pageable pageable) {
-        Page<Skill> skillPage = skillRepo.findAll(pageable);
-        List<Skill> skills = skillPage.toList();
-        List<Skill> uniqueSkills = new ArrayList<>();
-        List<SkillDto> skillDtos = new ArrayList<>();
+    public String getSkillsEtag() {
+        return skillCache.getEtag();
+    }
 
-        for (Skill skill : skills) {
-            boolean isUnique = true;
-            for (Skill uniqueSkill : uniqueSkills) {
-                if (isSameSkill(uniqueSkill, skill) && uniqueSkill.getLevel() <= skill.getLevel()) {
-                    isUnique = false;
-                    break;
-                }
-            }
-            if (isUnique) {
-                uniqueSkills.add(skill);
-            }
-        }
+    public String getUniqueSkillsEtag() {
+        return uniqueSkillCache.getEtag();
+    }
 
-        for (Skill uniqueSkill : uniqueSkills) {
-            skillDtos.add(toDto(uniqueSkill));
-        }
+    public Page<SkillDto> getSkillPage(Pageable pageable) {
+        return skillCache.getPage(pageable);
+    }
 
-        return new PageImpl<>(skillDtos, pageable, skillPage.getTotalElements());
+    // Одна строка на семейство навыков, поэтому размер страницы и total считаются по семействам
+    public Page<SkillDto> getUniqueSkillPage(Pageable pageable) {
+        return uniqueSkillCache.getPage(pageable);
     }
 
-    private boolean isSameSkill(Skill skill1, Skill skill2) {
-        return skill1.getSkillFamily().equals(skill2.getSkillFamily()) && skill1.getName().equals(skill2.getName());
+    public List<SkillDto> searchSkills(String query, int limit) {
+        return skillCache.search(query, limit);
     }
 
-    @Transactional
     public SkillDto getSkill(String skillFamily) {
-        Optional<Skill> skillBySkillFamily = skillRepo.findBySkillFamilyAndLevel(skillFamily, 1);
-        if (skillBySkillFamily.isEmpty()) {
-            throw new ResponseStatusException(NOT_FOUND, "Навык " + skillFamily + " не найден");
-        }
-        return toDto(skillBySkillFamily.get());
+        return skillCache.getAll().stream()
+            .filter(skill -> skill.getLevel() == 1 && skill.getSkillFamily().equals(skillFamily))
+            .findFirst()
+            .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Навык " + skillFamily + " не найден"));
     }
 
-    @Transactional
     public List<UUID> getSkillIds() {
-        return skillRepo.findAllSkillIds();
+        return skillCache.getIds();
     }
 
-    @Transactional
     public List<SkillDto> getSkillsBulk(IdsRequest request) {
-        return skillRepo.findAllByIdIn(request.getIds())
-            .stream()
-            .map(this::toDto)
-            .toList();
+        return skillCache.getBulk(request.getIds());
+    }
+
+    private void invalidateCaches() {
+        skillCache.invalidate();
+        uniqueSkillCache.invalidate();
     }
 }
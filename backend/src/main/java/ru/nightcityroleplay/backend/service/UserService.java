@@ -3,6 +3,7 @@ package ru.nightcityroleplay.backend.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -10,12 +11,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.dto.CursorPage;
 import ru.nightcityroleplay.backend.dto.user.CreateUserRequest;
 import ru.nightcityroleplay.backend.dto.user.CurrentUserDto;
 import ru.nightcityroleplay.backend.dto.user.UserDto;
 import ru.nightcityroleplay.backend.entity.Role;
 import ru.nightcityroleplay.backend.entity.User;
 import ru.nightcityroleplay.backend.repo.UserRepository;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -55,14 +58,14 @@ public class UserService {
             .build();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public CurrentUserDto getCurrentUser(Authentication auth) {
         Object principal = auth.getPrincipal();
         User user = (User) principal;
         return toDto(user);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<UserDto> getUserPage(Pageable pageable) {
         Page<User> userPage = userRepo.findAll(pageable);
         List<User> users = userPage.toList();
@@ -72,6 +75,22 @@ public class UserService {
         return new PageImpl<>(userDtos, pageable, userPage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> scrollUsers(String cursor, int size) {
+        KeysetCursor.validateSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        // Берём на одну запись больше, чтобы без count понять, есть ли следующая порция
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UserDto> users = position == null
+            ? userRepo.findDtosOrderedByUsername(limit)
+            : userRepo.findDtosOrderedByUsernameAfter(position.name(), position.id(), limit);
+        if (users.size() <= size) {
+            return new CursorPage<>(users, null);
+        }
+        UserDto last = users.get(size - 1);
+        return new CursorPage<>(users.subList(0, size), new KeysetCursor(last.username(), last.id()).encode());
+    }
+
     private UserDto toDtoWithoutRoles(User user) {
         return UserDto.builder()
             .id(user.getId())
@@ -79,7 +98,7 @@ public class UserService {
             .build();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public CurrentUserDto getUserById(UUID userId) {
         User user = userRepo.findById(userId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with ID: " + userId));
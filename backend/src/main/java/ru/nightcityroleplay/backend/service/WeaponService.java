@@ -1,22 +1,26 @@
 package ru.nightcityroleplay.backend.service;
 
-
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.cache.CatalogCache;
 import ru.nightcityroleplay.backend.dto.*;
 import ru.nightcityroleplay.backend.dto.weapons.*;
 import ru.nightcityroleplay.backend.entity.Weapon;
+import ru.nightcityroleplay.backend.repo.AssignmentsCount;
 import ru.nightcityroleplay.backend.repo.WeaponRepository;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -27,14 +31,25 @@ import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 public class WeaponService {
 
     private final WeaponRepository weaponRepo;
+    private final CatalogCache<WeaponDto> weaponCache;
 
-    public WeaponService(WeaponRepository weaponRepo) {
+    public WeaponService(WeaponRepository weaponRepo, MeterRegistry meterRegistry) {
         this.weaponRepo = weaponRepo;
+        this.weaponCache = new CatalogCache<>(
+            "weapons",
+            () -> weaponRepo.findAll().stream().map(this::toDto).toList(),
+            WeaponDto::getId,
+            WeaponDto::getName,
+            weapon -> Collections.singletonList(weapon.getWeaponType()),
+            WeaponDto::getVersion,
+            meterRegistry
+        );
     }
 
     private WeaponDto toDto(Weapon weapon) {
         WeaponDto weaponDto = new WeaponDto();
         weaponDto.setId(weapon.getId());
+        weaponDto.setVersion(weapon.getVersion());
         weaponDto.setName(weapon.getName());
         weaponDto.setIsMelee(weapon.getIsMelee());
         weaponDto.setWeaponType(weapon.getWeaponType());
@@ -62,25 +77,30 @@ public class WeaponService {
 
         //Сохранение
         weapon = weaponRepo.save(weapon);
+        weaponCache.invalidate();
         log.info("Оружие с ID {} было успешно создано.", weapon.getId());
         return new CreateWeaponResponse(weapon.getId());
     }
 
-    @Transactional
+    public String getWeaponsEtag() {
+        return weaponCache.getEtag();
+    }
+
     public Page<WeaponDto> getWeaponPage(Pageable pageable) {
-        Page<Weapon> weaponPage = weaponRepo.findAll(pageable);
-        List<Weapon> weapons = weaponPage.toList();
-        List<WeaponDto> weaponDtos = new ArrayList<>();
-        for (Weapon weapon : weapons) {
-            weaponDtos.add(toDto(weapon));
-        }
-        return new PageImpl<>(weaponDtos, pageable, weaponPage.getTotalElements());
+        return weaponCache.getPage(pageable);
+    }
+
+    public CursorPage<WeaponDto> scrollWeapons(String cursor, int size) {
+        KeysetCursor.validateSize(size);
+        return weaponCache.scroll(KeysetCursor.decode(cursor), size);
+    }
+
+    public List<WeaponDto> searchWeapons(String query, int limit) {
+        return weaponCache.search(query, limit);
     }
 
-    @Transactional
     public WeaponDto getWeapon(UUID weaponId) {
-        return weaponRepo.findById(weaponId)
-            .map(this::toDto)
+        return weaponCache.get(weaponId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Оружие не найдено"));
     }
 
@@ -107,6 +127,7 @@ public class WeaponService {
 
         // Сохранение обновленного оружия
         weaponRepo.save(existingWeapon);
+        weaponCache.invalidate();
         log.info("Оружие с ID: {} было успешно обновлено", weaponId);
     }
 
@@ -120,27 +141,39 @@ public class WeaponService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Оружие не найдено");
         }
 
-        if (weapon.getCharacters().isEmpty()) {
-            weaponRepo.delete(weapon);
-            log.info("Оружие с ID {} было успешно удалено", weaponId);
-        } else {
+        if (weaponRepo.existsAssignments(weaponId)) {
             log.info("Не удалось удалить оружие с ID {}: связано с характеристиками", weaponId);
             throw new ResponseStatusException(
                     UNPROCESSABLE_ENTITY, "Запрещено удаление оружия, так как оно связано с характеристиками!"
             );
         }
+        weaponRepo.delete(weapon);
+        weaponCache.invalidate();
+        log.info("Оружие с ID {} было успешно удалено", weaponId);
     }
 
+    // Счётчики назначений для набора оружия одним сгруппированным запросом, без назначений — 0
     @Transactional(readOnly = true)
+    public Map<UUID, Long> getWeaponAssignmentsCounts(IdsRequest request) {
+        Map<UUID, Long> counts = new LinkedHashMap<>();
+        for (UUID weaponId : request.getIds()) {
+            counts.put(weaponId, 0L);
+        }
+        if (counts.isEmpty()) {
+            return counts;
+        }
+        for (AssignmentsCount count : weaponRepo.countAssignmentsByIds(counts.keySet())) {
+            counts.put(count.getId(), count.getAssignments());
+        }
+        return counts;
+    }
+
     public List<UUID> getWeaponIds() {
-        return weaponRepo.findAllWeaponIds();
+        return weaponCache.getIds();
     }
 
-    @Transactional(readOnly = true)
     public List<WeaponDto> getWeaponsBulk(IdsRequest request) {
-        return weaponRepo.findAllByIdIn(request.getIds())
-            .stream().map(this::toDto)
-            .toList();
+        return weaponCache.getBulk(request.getIds());
     }
 
     public void validate(SaveWeaponRequest request) {
@@ -0,0 +1,50 @@
+package ru.nightcityroleplay.backend.stats;
+
+import ru.nightcityroleplay.backend.config.StatsProperties.Threshold;
+
+import java.util.List;
+
+// Ступенчатая таблица, развёрнутая в плоский массив: значение ищется по индексу, без перебора порогов.
+// Ключи ниже первого порога получают первое значение, выше последнего — последнее.
+public final class StatTable {
+
+    private final int offset;
+    private final int[] values;
+
+    private StatTable(int offset, int[] values) {
+        this.offset = offset;
+        this.values = values;
+    }
+
+    public static StatTable compile(String name, List<Threshold> thresholds) {
+        if (thresholds == null || thresholds.isEmpty()) {
+            throw new IllegalArgumentException("Таблица " + name + " не содержит порогов");
+        }
+        for (int i = 1; i < thresholds.size(); i++) {
+            if (thresholds.get(i).from() <= thresholds.get(i - 1).from()) {
+                throw new IllegalArgumentException("Пороги таблицы " + name + " должны строго возрастать");
+            }
+        }
+        int offset = thresholds.get(0).from();
+        int[] values = new int[thresholds.get(thresholds.size() - 1).from() - offset + 1];
+        for (int i = 0; i < thresholds.size(); i++) {
+            int start = thresholds.get(i).from() - offset;
+            int end = i + 1 < thresholds.size() ? thresholds.get(i + 1).from() - offset : values.length;
+            for (int j = start; j < end; j++) {
+                values[j] = thresholds.get(i).value();
+            }
+        }
+        return new StatTable(offset, values);
+    }
+
+    public int get(int key) {
+        int index = key - offset;
+        if (index <= 0) {
+            return values[0];
+        }
+        if (index >= values.length) {
+            return values[values.length - 1];
+        }
+        return values[index];
+    }
+}
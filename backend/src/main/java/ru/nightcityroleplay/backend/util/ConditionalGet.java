@@ -0,0 +1,28 @@
+package ru.nightcityroleplay.backend.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+// Условный GET по сильному ETag. Если If-None-Match совпал, ответ уже помечен как 304 и контроллер возвращает null.
+public final class ConditionalGet {
+
+    // Без явного Cache-Control Spring Security добавит no-store, и браузер не станет присылать If-None-Match
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    public static boolean notModified(ServletWebRequest request, String etag) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(etag);
+    }
+
+    public static boolean notModified(ServletWebRequest request, Long version) {
+        return notModified(request, String.valueOf(version));
+    }
+}
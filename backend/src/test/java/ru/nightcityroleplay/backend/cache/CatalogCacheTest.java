@@ -0,0 +1,217 @@
+package ru.nightcityroleplay.backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.dto.CursorPage;
+import ru.nightcityroleplay.backend.dto.weapons.WeaponDto;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogCacheTest {
+
+    SimpleMeterRegistry meterRegistry;
+    List<WeaponDto> storage;
+    AtomicInteger loads;
+    CatalogCache<WeaponDto> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        storage = new ArrayList<>();
+        loads = new AtomicInteger();
+        cache = new CatalogCache<>(
+            "weapons",
+            () -> {
+                loads.incrementAndGet();
+                return List.copyOf(storage);
+            },
+            WeaponDto::getId,
+            WeaponDto::getName,
+            weapon -> Collections.singletonList(weapon.getWeaponType()),
+            WeaponDto::getVersion,
+            meterRegistry
+        );
+    }
+
+    @Test
+    void get_repeatedReads_loadedOnce() {
+        // given
+        WeaponDto weapon = new WeaponDto().setId(randomUUID()).setName("a");
+        storage.add(weapon);
+
+        // when
+        cache.get(weapon.getId());
+        cache.getIds();
+        cache.getBulk(List.of(weapon.getId()));
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("catalog_cache_misses", "catalog", "weapons").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("catalog_cache_hits", "catalog", "weapons").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("catalog_cache_reloads", "catalog", "weapons").count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_afterWrite_reloaded() {
+        // given
+        UUID id = randomUUID();
+        assertThat(cache.get(id)).isEmpty();
+        storage.add(new WeaponDto().setId(id).setName("a"));
+
+        // when
+        cache.invalidate();
+
+        // then
+        assertThat(cache.get(id)).isPresent();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getBulk_unknownIds_skippedInRequestOrder() {
+        // given
+        WeaponDto a = new WeaponDto().setId(randomUUID()).setName("a");
+        WeaponDto b = new WeaponDto().setId(randomUUID()).setName("b");
+        storage.addAll(List.of(a, b));
+
+        // when
+        List<WeaponDto> result = cache.getBulk(List.of(b.getId(), randomUUID(), a.getId()));
+
+        // then
+        assertThat(result).containsExactly(b, a);
+    }
+
+    @Test
+    void getPage_sortedByName_success() {
+        // given
+        WeaponDto a = new WeaponDto().setId(randomUUID()).setName("a");
+        WeaponDto b = new WeaponDto().setId(randomUUID()).setName("b");
+        WeaponDto c = new WeaponDto().setId(randomUUID()).setName("c");
+        storage.addAll(List.of(c, a, b));
+
+        // when
+        var result = cache.getPage(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+        // then
+        assertThat(result.getContent()).containsExactly(a);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void getPage_unknownSortProperty_throw400() {
+        // given
+        storage.add(new WeaponDto().setId(randomUUID()));
+        storage.add(new WeaponDto().setId(randomUUID()));
+
+        // then
+        assertThatThrownBy(() -> cache.getPage(PageRequest.of(0, 10, Sort.by("unknown"))))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ResponseStatusException::getStatusCode)
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void scroll_throughWholeCatalog_everyItemOnceInNameOrder() {
+        // given
+        for (String name : List.of("d", "b", "a", "c", "b")) {
+            storage.add(new WeaponDto().setId(randomUUID()).setName(name));
+        }
+
+        // when
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<WeaponDto> page = cache.scroll(KeysetCursor.decode(cursor), 2);
+            page.content().forEach(weapon -> names.add(weapon.getName()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // then
+        assertThat(names).containsExactly("a", "b", "b", "c", "d");
+        assertThat(pages).isEqualTo(3);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void search_afterInvalidate_indexRebuiltFromNewSnapshot() {
+        // given
+        storage.add(new WeaponDto().setId(randomUUID()).setName("Катана").setWeaponType("Клинковое"));
+        assertThat(cache.search("пистолет", 10)).isEmpty();
+        storage.add(new WeaponDto().setId(randomUUID()).setName("Пистолет Unity").setWeaponType("Огнестрельное"));
+
+        // when
+        cache.invalidate();
+        List<WeaponDto> result = cache.search("пистолеты", 10);
+
+        // then
+        assertThat(result).extracting(WeaponDto::getName).containsExactly("Пистолет Unity");
+        assertThat(cache.search("клинк", 10)).extracting(WeaponDto::getName).containsExactly("Катана");
+    }
+
+    @Test
+    void search_blankQueryOrLimitOutOfRange_throw400() {
+        // then
+        assertThatThrownBy(() -> cache.search(" ", 10))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Пустой поисковый запрос");
+        assertThatThrownBy(() -> cache.search("катана", CatalogCache.MAX_SEARCH_LIMIT + 1))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ResponseStatusException::getStatusCode)
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void getEtag_reloadWithoutChanges_sameEtag() {
+        // given
+        storage.add(new WeaponDto().setId(randomUUID()).setName("a").setVersion(0L));
+        String etag = cache.getEtag();
+
+        // when
+        cache.invalidate();
+
+        // then
+        assertThat(cache.getEtag()).isEqualTo(etag);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getEtag_itemChangedAddedOrRemoved_etagChanges() {
+        // given
+        WeaponDto weapon = new WeaponDto().setId(randomUUID()).setName("a").setVersion(0L);
+        storage.add(weapon);
+        String initial = cache.getEtag();
+
+        // when
+        storage.set(0, new WeaponDto().setId(weapon.getId()).setName("b").setVersion(1L));
+        cache.invalidate();
+        String changed = cache.getEtag();
+        storage.add(new WeaponDto().setId(randomUUID()).setName("c").setVersion(0L));
+        cache.invalidate();
+        String added = cache.getEtag();
+        storage.remove(1);
+        cache.invalidate();
+        String removed = cache.getEtag();
+
+        // then
+        assertThat(List.of(initial, changed, added)).doesNotHaveDuplicates();
+        assertThat(removed).isEqualTo(changed);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.nightcityroleplay.backend.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.nightcityroleplay.backend.constant.Roles;
+import ru.nightcityroleplay.backend.dto.IdsRequest;
+import ru.nightcityroleplay.backend.service.ImplantService;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class ImplantControllerTest {
+
+    @Autowired
+    ImplantController controller;
+    @Autowired
+    ImplantService implantService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        reset(implantService);
+    }
+
+    @Test
+    void getImplantAssignmentsCounts_notAdmin_accessDenied() {
+        // given
+        authenticate();
+        var request = new IdsRequest();
+
+        // then
+        assertThatThrownBy(() -> controller.getImplantAssignmentsCounts(request))
+            .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(implantService);
+    }
+
+    @Test
+    void getImplantAssignmentsCounts_admin_counted() {
+        // given
+        authenticate(Roles.ADMIN);
+        var request = new IdsRequest();
+
+        // when
+        controller.getImplantAssignmentsCounts(request);
+
+        // then
+        verify(implantService).getImplantAssignmentsCounts(request);
+    }
+
+    private static void authenticate(String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+            "user", null, Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList()));
+    }
+
+    @Configuration
+    @EnableMethodSecurity
+    static class Config {
+
+        @Bean
+        ImplantService implantService() {
+            return mock();
+        }
+
+        @Bean
+        ImplantController implantController(ImplantService implantService) {
+            return new ImplantController(implantService);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.nightcityroleplay.backend.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.nightcityroleplay.backend.constant.Roles;
+import ru.nightcityroleplay.backend.dto.IdsRequest;
+import ru.nightcityroleplay.backend.dto.weapons.UpdateWeaponRequest;
+import ru.nightcityroleplay.backend.service.WeaponService;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class WeaponControllerTest {
+
+    @Autowired
+    WeaponController controller;
+    @Autowired
+    WeaponService weaponService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        reset(weaponService);
+    }
+
+    @Test
+    void updateWeapon_notAdmin_accessDenied() {
+        // given
+        authenticate();
+        var request = new UpdateWeaponRequest();
+
+        // then
+        assertThatThrownBy(() -> controller.updateWeapon(request, randomUUID()))
+            .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(weaponService);
+    }
+
+    @Test
+    void updateWeapon_admin_updated() {
+        // given
+        authenticate(Roles.ADMIN);
+        var request = new UpdateWeaponRequest();
+        UUID weaponId = randomUUID();
+
+        // when
+        controller.updateWeapon(request, weaponId);
+
+        // then
+        verify(weaponService).updateWeapon(request, weaponId);
+    }
+
+    @Test
+    void getWeaponAssignmentsCounts_notAdmin_accessDenied() {
+        // given
+        authenticate();
+        var request = new IdsRequest();
+
+        // then
+        assertThatThrownBy(() -> controller.getWeaponAssignmentsCounts(request))
+            .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(weaponService);
+    }
+
+    private static void authenticate(String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+            "user", null, Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList()));
+    }
+
+    @Configuration
+    @EnableMethodSecurity
+    static class Config {
+
+        @Bean
+        WeaponService weaponService() {
+            return mock();
+        }
+
+        @Bean
+        WeaponController weaponController(WeaponService weaponService) {
+            return new WeaponController(weaponService);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ru.nightcityroleplay.backend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    ReplicaRoutingDataSource dataSource;
+    Connection primaryConnection;
+    Connection replicaConnection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource primary = mock();
+        DataSource replica = mock();
+        primaryConnection = mock();
+        replicaConnection = mock();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_readOnlyTransaction_usesReplica() throws Exception {
+        // given
+        authenticate("reader");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_readWriteTransaction_usesPrimary() throws Exception {
+        // given
+        authenticate("writer");
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getConnection_withoutUser_usesPrimary() throws Exception {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getConnection_onPrimary_usesPrimary() {
+        // given
+        authenticate("reader");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        Connection connection = ReplicaRoutingDataSource.onPrimary(this::connection);
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(connection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_afterOwnCommittedWrite_readsFromPrimary() throws Exception {
+        // given
+        authenticate("writer");
+        dataSource.getConnection();
+        commit();
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection ownRead = dataSource.getConnection();
+        authenticate("reader");
+        Connection otherRead = dataSource.getConnection();
+
+        // then
+        assertThat(ownRead).isSameAs(primaryConnection);
+        assertThat(otherRead).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_afterRolledBackWrite_readsFromReplica() throws Exception {
+        // given
+        authenticate("writer");
+        dataSource.getConnection();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(replicaConnection);
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private Connection connection() {
+        try {
+            return dataSource.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class EndpointMetricsTest {
+
+    SimpleMeterRegistry meterRegistry;
+    RequestMappingHandlerMapping handlerMapping;
+    EndpointMetrics endpointMetrics;
+    HandlerMethod handler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        handlerMapping = mock();
+        ObjectProvider<RequestMappingHandlerMapping> provider = mock();
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(handlerMapping));
+        endpointMetrics = new EndpointMetrics(meterRegistry, provider);
+        handler = new HandlerMethod(this, getClass().getDeclaredMethod("setUp"));
+    }
+
+    @Test
+    void registerEndpoints_applicationHandlers_registeredBeforeFirstCall() throws Exception {
+        // given
+        HandlerMethod foreign = new HandlerMethod("string", "toString");
+        when(handlerMapping.getHandlerMethods()).thenReturn(Map.of(
+            RequestMappingInfo.paths("/a").build(), handler,
+            RequestMappingInfo.paths("/b").build(), foreign
+        ));
+
+        // when
+        endpointMetrics.registerEndpoints();
+
+        // then
+        assertThat(meterRegistry.get("endpoint_duration").tag("handler", "EndpointMetricsTest.setUp").timer()
+            .count()).isZero();
+        assertThat(meterRegistry.find("endpoint_duration").tag("handler", "String.toString").timer()).isNull();
+    }
+
+    @Test
+    void afterCompletion_errorStatus_timedAndCountedAsError() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse ok = new MockHttpServletResponse();
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        notFound.setStatus(404);
+
+        // when
+        endpointMetrics.preHandle(request, ok, handler);
+        endpointMetrics.afterCompletion(request, ok, handler, null);
+        endpointMetrics.preHandle(request, notFound, handler);
+        endpointMetrics.afterCompletion(request, notFound, handler, null);
+
+        // then
+        assertThat(meterRegistry.get("endpoint_duration").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("endpoint_errors").counter().count()).isEqualTo(1);
+    }
+}
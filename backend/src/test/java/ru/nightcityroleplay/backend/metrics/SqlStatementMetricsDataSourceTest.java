@@ -0,0 +1,86 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SqlStatementMetricsDataSourceTest {
+
+    DataSource target;
+    Connection connection;
+    List<String> inspected;
+    SqlStatementCounter counter;
+    SqlStatementMetricsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock();
+        connection = mock();
+        when(target.getConnection()).thenReturn(connection);
+        inspected = new ArrayList<>();
+        counter = new SqlStatementCounter() {
+            @Override
+            public String inspect(String sql) {
+                inspected.add(sql);
+                return super.inspect(sql);
+            }
+        };
+        counter.reset();
+        dataSource = new SqlStatementMetricsDataSource(target, counter);
+    }
+
+    @Test
+    void preparedStatement_executed_countedWithPreparedSql() throws Exception {
+        // given
+        PreparedStatement prepared = mock();
+        when(connection.prepareStatement("select 1")).thenReturn(prepared);
+        when(prepared.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return null;
+        });
+
+        // when
+        try (Connection proxy = dataSource.getConnection()) {
+            PreparedStatement statement = proxy.prepareStatement("select 1");
+            statement.setInt(1, 42);
+            statement.executeQuery();
+        }
+
+        // then
+        verify(prepared).setInt(1, 42);
+        verify(connection).close();
+        assertThat(inspected).containsExactly("select 1");
+        assertThat(counter.get()).isEqualTo(1);
+        assertThat(counter.getNanos()).isGreaterThanOrEqualTo(5_000_000);
+    }
+
+    @Test
+    void statement_batchAndPlainExecute_eachExecuteCountedOnce() throws Exception {
+        // given
+        Statement plain = mock();
+        PreparedStatement batch = mock();
+        when(connection.createStatement()).thenReturn(plain);
+        when(connection.prepareStatement("insert into t values (?)")).thenReturn(batch);
+
+        // when
+        Connection proxy = dataSource.getConnection();
+        proxy.createStatement().execute("set enable_seqscan = off");
+        PreparedStatement statement = proxy.prepareStatement("insert into t values (?)");
+        statement.addBatch();
+        statement.addBatch();
+        statement.executeBatch();
+
+        // then
+        assertThat(inspected).containsExactly("set enable_seqscan = off", "insert into t values (?)");
+        assertThat(counter.get()).isEqualTo(2);
+    }
+}
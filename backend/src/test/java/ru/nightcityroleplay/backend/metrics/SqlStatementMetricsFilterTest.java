@@ -0,0 +1,90 @@
+package ru.nightcityroleplay.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.nightcityroleplay.backend.config.ApplicationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementMetricsFilterTest {
+
+    SqlStatementCounter counter;
+    SimpleMeterRegistry meterRegistry;
+    SqlStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter();
+        meterRegistry = new SimpleMeterRegistry();
+        var props = new ApplicationProperties(false, null, null, new ApplicationProperties.SqlBudget(2), null);
+        filter = new SqlStatementMetricsFilter(counter, meterRegistry, props);
+    }
+
+    @Test
+    void doFilter_statementsExecuted_recordedPerHandler() throws Exception {
+        // given
+        counter.inspect("stale");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/characters/1");
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("setUp"));
+
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/characters/{characterId}");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            for (int i = 0; i < 3; i++) {
+                counter.inspect("select " + i);
+                counter.recordTime(TimeUnit.MILLISECONDS.toNanos(2));
+            }
+        });
+
+        // then
+        DistributionSummary statements = meterRegistry.get("http_request_sql_statements")
+            .tag("uri", "/characters/{characterId}")
+            .tag("handler", "SqlStatementMetricsFilterTest.setUp")
+            .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        Timer time = meterRegistry.get("http_request_sql_time").tag("method", "GET").timer();
+        assertThat(time.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(6);
+    }
+
+    @Test
+    void doFilter_repeatedRequests_recordedToSameMeters() throws Exception {
+        // when
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                (req, res) -> counter.inspect("select 1"));
+        }
+
+        // then
+        assertThat(meterRegistry.get("http_request_sql_statements").summaries()).hasSize(1);
+        assertThat(meterRegistry.get("http_request_sql_statements").summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("http_request_sql_time").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void doFilter_noHandlerMatched_taggedUnknown() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/missing");
+
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        // then
+        DistributionSummary statements = meterRegistry.get("http_request_sql_statements")
+            .tag("uri", "UNKNOWN")
+            .tag("handler", "UNKNOWN")
+            .summary();
+        assertThat(statements.totalAmount()).isZero();
+    }
+}
@@ -0,0 +1,298 @@
+package ru.nightcityroleplay.backend.repo;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.nightcityroleplay.backend.metrics.SqlStatementCounter;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.jpa.domain.Specification.where;
+import static ru.nightcityroleplay.backend.repo.CharacterSpecifications.*;
+
+// Проверяет, что горячие запросы репозиториев на заполненных таблицах ищут строки по ожидаемым индексам.
+// Без Docker тест пропускается.
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbc;
+    @Autowired
+    TransactionTemplate tx;
+    @Autowired
+    CapturingStatementCounter statements;
+    @Autowired
+    CharacterRepository characterRepo;
+    @Autowired
+    UserRepository userRepo;
+    @Autowired
+    SkillRepository skillRepo;
+    @Autowired
+    ImplantRepository implantRepo;
+    @Autowired
+    WeaponRepository weaponRepo;
+
+    UUID id = UUID.randomUUID();
+    List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+    @BeforeAll
+    void seed() {
+        jdbc.update("""
+            insert into users (id, username, password)
+            select gen_random_uuid(), 'user-' || i, 'x' from generate_series(1, 5000) i
+            """);
+        jdbc.update("""
+            insert into users_roles (user_id, role_id)
+            select u.id, r.id from users u cross join (select id from roles order by name limit 1) r
+            """);
+        jdbc.update("""
+            insert into characters (id, owner_id, name, age, reputation, height, weight, organization,
+                                    character_class, battle_points, civil_points)
+            select gen_random_uuid(), (select id from users order by random() limit 1), 'char-' || i, 20 + i % 40,
+                   i % 100, 180, 80, 'org-' || i % 20, 'SOLO', 0, 0
+            from generate_series(1, 20000) i
+            """);
+        jdbc.update("""
+            insert into weapons (id, is_melee, name, weapon_type, penetration, reputation_requirement)
+            select gen_random_uuid(), false, 'weapon-' || i, 'type', 1, 0 from generate_series(1, 300) i
+            """);
+        jdbc.update("""
+            insert into implants (id, name, implant_type, reputation_requirement, implant_points_cost,
+                                  special_implant_points_cost)
+            select gen_random_uuid(), 'implant-' || i, 'type', 0, 1, 0 from generate_series(1, 300) i
+            """);
+        jdbc.update("""
+            insert into skills (id, skill_family, skill_family_id, name, description, skill_class, type_is_battle,
+                                level, battle_cost, civil_cost, reputation_requirement)
+            select gen_random_uuid(), 'family-' || f, family_id, 'skill-' || f || '-' || l, '', 'class', true,
+                   l, 1, 1, 0
+            from (select f, gen_random_uuid() family_id from generate_series(1, 500) f) families,
+                 generate_series(1, 10) l
+            """);
+        // каждому персонажу по одной записи из каждого справочника
+        for (String table : List.of("weapons", "implants", "skills")) {
+            String column = table.substring(0, table.length() - 1) + "_id";
+            jdbc.update("insert into characters_" + table + " (char_id, " + column + ") "
+                + "select c.id, t.id "
+                + "from (select id, row_number() over () as n from characters) c "
+                + "join (select id, row_number() over () - 1 as n from " + table + ") t "
+                + "on t.n = c.n % (select count(*) from " + table + ")");
+        }
+        jdbc.execute("analyze");
+    }
+
+    @Test
+    void characterLookups_useIndexes() {
+        assertSeeks("characters_name_id_idx", () -> characterRepo.existsByName("char-1"));
+        assertSeeks("characters_name_id_idx", () -> characterRepo.findIdsOrderedByName(PageRequest.ofSize(20)));
+        // Позиция курсора в середине таблицы: индекс должен искать её по условию, а не фильтровать строки до неё
+        assertSeeks("characters_name_id_idx",
+            () -> characterRepo.findIdsOrderedByNameAfter("char-5000", id, PageRequest.ofSize(20)),
+            "'char-5000'", "'" + id + "'", "0", "20");
+        assertSeeks("characters_pkey", () -> characterRepo.findWithWeaponsByIdIn(ids));
+    }
+
+    @Test
+    void userLookups_useIndexes() {
+        assertSeeks(List.of("users_username_id_idx", "users_roles_user_id_role_id_unique"),
+            () -> userRepo.findByUsername("user-1"));
+        assertSeeks("users_username_id_idx", () -> userRepo.findDtosOrderedByUsername(PageRequest.ofSize(20)));
+        assertSeeks("users_username_id_idx",
+            () -> userRepo.findDtosOrderedByUsernameAfter("user-2500", id, PageRequest.ofSize(20)),
+            "'user-2500'", "'" + id + "'", "0", "20");
+    }
+
+    @Test
+    void skillLookups_useIndexes() {
+        assertSeeks("skills_skill_family_level_idx", () -> skillRepo.findBySkillFamilyAndLevel("family-1", 1));
+        assertSeeks("skills_skill_family_level_idx", () -> skillRepo.findBySkillFamily("family-1"));
+        assertSeeks("skills_skill_family_id_idx", () -> skillRepo.findBySkillFamilyId(id));
+        assertSeeks("skills_skill_family_level_idx",
+            () -> skillRepo.findExistingSkillFamilies(List.of("family-1", "family-2")));
+        assertSeeks("skills_skill_family_id_idx", () -> skillRepo.findExistingSkillFamilyIds(ids));
+        assertSeeks("skills_skill_family_id_idx", () -> skillRepo.existsAssignmentsBySkillFamilyIdIn(ids));
+        assertSeeks("skills_skill_family_id_idx", () -> skillRepo.deleteBySkillFamilyIdIn(ids));
+    }
+
+    @Test
+    void assignmentLookups_useIndexes() {
+        assertSeeks("characters_implants_implant_id_idx", () -> implantRepo.countAssignments(id));
+        assertSeeks("characters_implants_implant_id_idx", () -> implantRepo.existsAssignments(id));
+        assertSeeks("characters_implants_implant_id_idx", () -> implantRepo.countAssignmentsByIds(ids));
+        assertSeeks("characters_implants_implant_id_idx", () -> implantRepo.deleteAssignments(id));
+        assertSeeks("characters_weapons_weapon_id_idx", () -> weaponRepo.existsAssignments(id));
+        assertSeeks("characters_weapons_weapon_id_idx", () -> weaponRepo.countAssignmentsByIds(ids));
+    }
+
+    @Test
+    void characterSearch_usesIndexes() {
+        Pageable page = PageRequest.of(0, 20, Sort.by("name"));
+        assertSeeks("characters_organization_reputation_idx", () -> characterRepo.findIds(
+            where(organizationIs("org-1")).and(reputationFrom(10)).and(reputationTo(20)), page));
+        // Класс у всех персонажей один, поэтому количество считается по индексу репутации
+        assertSeeks(List.of("characters_character_class_reputation_idx", "characters_reputation_idx"),
+            () -> characterRepo.findIds(where(characterClassIs("SOLO")).and(reputationFrom(90)),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "reputation"))));
+        assertSeeks("characters_reputation_idx",
+            () -> characterRepo.findIds(where(reputationFrom(10)).and(reputationTo(11)), page));
+        // Общий план для владельца null выбирает обход по имени, поэтому план строится под конкретный ID
+        assertSeeks("characters_owner_id_idx", () -> characterRepo.findIds(where(ownerIs(id)), page),
+            "'" + id + "'", "0", "20");
+        // like с параметром индекс использует только в плане под конкретное значение
+        assertSeeks("characters_lower_name_pattern_idx",
+            () -> characterRepo.findIds(where(nameStartsWith("Char-12345")), page),
+            "'char-12345%'", "0", "20");
+    }
+
+    private void assertSeeks(String index, Runnable call, String... values) {
+        assertSeeks(List.of(index), call, values);
+    }
+
+    // Выполняет вызов в откатываемой транзакции и строит план для каждого отправленного SQL: общий, либо под
+    // переданные значения параметров (SQL-литералы по порядку, лишние отбрасываются). План должен искать
+    // по ожидаемому индексу: i-му запросу соответствует i-й индекс, последний — всем оставшимся.
+    private void assertSeeks(List<String> indexes, Runnable call, String... values) {
+        statements.captured.clear();
+        tx.executeWithoutResult(status -> {
+            call.run();
+            status.setRollbackOnly();
+        });
+        List<String> sqls = List.copyOf(statements.captured);
+        assertThat(sqls).isNotEmpty();
+        for (int i = 0; i < sqls.size(); i++) {
+            String index = indexes.get(Math.min(i, indexes.size() - 1));
+            String plan = explain(sqls.get(i), values);
+            assertThat(seeks(plan, index))
+                .as("%s%n%s", sqls.get(i), plan)
+                .isTrue();
+        }
+    }
+
+    // Узел на индексе с условием Index Cond, либо Index Only Scan без фильтра — проход по индексу ради порядка.
+    // Строки узла идут до следующего узла "->".
+    private static boolean seeks(String plan, String index) {
+        List<String> lines = plan.lines().toList();
+        for (int i = 0; i < lines.size(); i++) {
+            String node = lines.get(i);
+            if (!node.matches(".*Index (Only )?Scan( Backward)? (using|on) " + index + "\\b.*")) {
+                continue;
+            }
+            boolean filtered = false;
+            for (int j = i + 1; j < lines.size() && !lines.get(j).contains("->"); j++) {
+                if (lines.get(j).contains("Index Cond:")) {
+                    return true;
+                }
+                filtered |= lines.get(j).contains("Filter:");
+            }
+            if (node.contains("Index Only Scan") && !filtered) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String explain(String sql, String... values) {
+        return jdbc.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(values.length == 0
+                    ? "set plan_cache_mode = force_generic_plan"
+                    : "set plan_cache_mode = force_custom_plan");
+                statement.execute("prepare hot_query as " + numberParameters(sql));
+                try {
+                    List<String> plan = new ArrayList<>();
+                    int count = parameterCount(sql);
+                    List<String> parameters = values.length == 0
+                        ? Collections.nCopies(count, "null")
+                        : List.of(values).subList(0, count);
+                    String execute = count == 0
+                        ? "execute hot_query"
+                        : "execute hot_query(" + String.join(", ", parameters) + ")";
+                    try (ResultSet rs = statement.executeQuery("explain " + execute)) {
+                        while (rs.next()) {
+                            plan.add(rs.getString(1));
+                        }
+                    }
+                    return String.join("\n", plan);
+                } finally {
+                    statement.execute("deallocate hot_query");
+                    statement.execute("reset all");
+                }
+            }
+        });
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int n = 0;
+        for (char ch : sql.toCharArray()) {
+            if (ch == '?') {
+                numbered.append('$').append(++n);
+            } else {
+                numbered.append(ch);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static int parameterCount(String sql) {
+        return (int) sql.chars().filter(ch -> ch == '?').count();
+    }
+
+    // Запоминает SQL, который Hibernate отправляет в БД
+    static class CapturingStatementCounter extends SqlStatementCounter {
+
+        final Set<String> captured = Collections.synchronizedSet(new LinkedHashSet<>());
+
+        @Override
+        public String inspect(String sql) {
+            captured.add(sql);
+            return super.inspect(sql);
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfiguration {
+
+        @Bean
+        @Primary
+        CapturingStatementCounter capturingStatementCounter() {
+            return new CapturingStatementCounter();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.nightcityroleplay.backend.search;
+
+import org.junit.jupiter.api.Test;
+import ru.nightcityroleplay.backend.dto.implants.ImplantDto;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSearchIndexTest {
+
+    private static ImplantDto implant(String name, String type, String description) {
+        ImplantDto implant = new ImplantDto();
+        implant.setId(randomUUID());
+        implant.setName(name);
+        implant.setImplantType(type);
+        implant.setDescription(description);
+        return implant;
+    }
+
+    private static CatalogSearchIndex<ImplantDto> index(ImplantDto... implants) {
+        return new CatalogSearchIndex<>(
+            List.of(implants),
+            ImplantDto::getName,
+            implant -> Arrays.asList(implant.getImplantType(), implant.getDescription())
+        );
+    }
+
+    @Test
+    void search_otherWordForm_foundByStem() {
+        // given
+        ImplantDto eyes = implant("Кибернетические глаза", "Оптика", "Улучшенное зрение");
+        ImplantDto arms = implant("Руки Гориллы", "Руки", "Сила удара");
+
+        // when
+        List<ImplantDto> result = index(eyes, arms).search("кибернетический глаз", 10);
+
+        // then
+        assertThat(result).containsExactly(eyes);
+    }
+
+    @Test
+    void search_prefix_foundWhileTyping() {
+        // given
+        ImplantDto sandevistan = implant("Сандевистан", "Операционная система", null);
+        ImplantDto kerenzikov = implant("Керензиков", "Нервная система", null);
+
+        // when
+        List<ImplantDto> result = index(sandevistan, kerenzikov).search("санде", 10);
+
+        // then
+        assertThat(result).containsExactly(sandevistan);
+    }
+
+    @Test
+    void search_typo_foundFuzzy() {
+        // given
+        ImplantDto sandevistan = implant("Сандевистан", "Операционная система", null);
+        ImplantDto kerenzikov = implant("Керензиков", "Нервная система", null);
+
+        // when
+        List<ImplantDto> result = index(sandevistan, kerenzikov).search("керензеков", 10);
+
+        // then
+        assertThat(result).containsExactly(kerenzikov);
+    }
+
+    @Test
+    void search_nameMatch_rankedAboveDescriptionMatch() {
+        // given
+        ImplantDto inDescription = implant("Мантисы", "Руки", "Клинки в предплечьях");
+        ImplantDto inName = implant("Клинки богомола", "Руки", null);
+
+        // when
+        List<ImplantDto> result = index(inDescription, inName).search("клинками", 10);
+
+        // then
+        assertThat(result).containsExactly(inName, inDescription);
+    }
+
+    @Test
+    void search_everyWordMustMatch_partialMatchExcluded() {
+        // given
+        ImplantDto eyes = implant("Кибероптика Kiroshi", "Оптика", null);
+        ImplantDto arms = implant("Кибер-руки", "Руки", null);
+
+        // when
+        List<ImplantDto> result = index(eyes, arms).search("кибер kiroshi", 10);
+
+        // then
+        assertThat(result).containsExactly(eyes);
+    }
+
+    @Test
+    void search_equalScore_keepsIndexOrderAndLimit() {
+        // given
+        ImplantDto a = implant("Оптика A", "Оптика", null);
+        ImplantDto b = implant("Оптика B", "Оптика", null);
+        ImplantDto c = implant("Оптика C", "Оптика", null);
+
+        // when
+        List<ImplantDto> result = index(a, b, c).search("ОПТИКА", 2);
+
+        // then
+        assertThat(result).containsExactly(a, b);
+    }
+
+    @Test
+    void search_noLettersInQuery_empty() {
+        // when
+        List<ImplantDto> result = index(implant("Оптика", "Оптика", null)).search("!!! ...", 10);
+
+        // then
+        assertThat(result).isEmpty();
+    }
+}
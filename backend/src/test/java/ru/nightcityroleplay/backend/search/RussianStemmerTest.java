@@ -0,0 +1,42 @@
+package ru.nightcityroleplay.backend.search;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RussianStemmerTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "вагонами, вагон",
+        "важнейшие, важн",
+        "пистолеты, пистолет",
+        "имплантов, имплант",
+        "красивая, красив",
+        "красивый, красив",
+        "бронированная, бронирова",
+        "бронированный, бронирова",
+        "кибернетические, кибернетическ",
+        "улучшения, улучшен",
+        "стреляя, стрел",
+        "сила, сил"
+    })
+    void stem_wordForm_snowballStem(String word, String expected) {
+        // when
+        String result = RussianStemmer.stem(word);
+
+        // then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"мгн", "smartgun", "я"})
+    void stem_noEndingInRegion_unchanged(String word) {
+        // when
+        String result = RussianStemmer.stem(word);
+
+        // then
+        assertThat(result).isEqualTo(word);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.nightcityroleplay.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.nightcityroleplay.backend.config.ApplicationProperties;
+import ru.nightcityroleplay.backend.entity.Role;
+import ru.nightcityroleplay.backend.entity.User;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenServiceTest {
+
+    User user = new User(randomUUID(), "user", "hash", List.of(Role.builder().name("ADMIN").build()));
+
+    @Test
+    void verify_issuedToken_success() {
+        // given
+        AccessTokenService service = service("secret", Duration.ofMinutes(15));
+        String token = service.issue(user).accessToken();
+
+        // when
+        Optional<User> result = service.verify(token);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(user.getId());
+        assertThat(result.get().getUsername()).isEqualTo("user");
+        assertThat(result.get().getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void verify_tamperedPayload_isEmpty() {
+        // given
+        AccessTokenService service = service("secret", Duration.ofMinutes(15));
+        String token = service.issue(user).accessToken();
+        String otherPayload = service.issue(new User(randomUUID(), "other", "hash", List.of())).accessToken()
+            .split("\\.")[0];
+
+        // when
+        Optional<User> result = service.verify(otherPayload + token.substring(token.indexOf('.')));
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void verify_otherSecret_isEmpty() {
+        // given
+        String token = service("secret", Duration.ofMinutes(15)).issue(user).accessToken();
+
+        // then
+        assertThat(service("another", Duration.ofMinutes(15)).verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_expiredToken_isEmpty() {
+        // given
+        AccessTokenService service = service("secret", Duration.ofSeconds(-1));
+        String token = service.issue(user).accessToken();
+
+        // then
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_garbage_isEmpty() {
+        // given
+        AccessTokenService service = service("secret", Duration.ofMinutes(15));
+
+        // then
+        assertThat(service.verify("not-a-token")).isEmpty();
+        assertThat(service.verify("a.b.c")).isEmpty();
+        assertThat(service.verify("%%%.%%%")).isEmpty();
+    }
+
+    private static AccessTokenService service(String secret, Duration ttl) {
+        var props = new ApplicationProperties(false, null, new ApplicationProperties.AccessToken(secret, ttl), null, null);
+        return new AccessTokenService(new ObjectMapper(), props);
+    }
+}
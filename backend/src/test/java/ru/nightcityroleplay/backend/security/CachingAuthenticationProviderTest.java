@@ -0,0 +1,74 @@
+package ru.nightcityroleplay.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.nightcityroleplay.backend.config.ApplicationProperties;
+import ru.nightcityroleplay.backend.entity.User;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    UserDetailsService userDetailsService;
+    PasswordEncoder passwordEncoder;
+    CachingAuthenticationProvider provider;
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock();
+        passwordEncoder = mock();
+        var props = new ApplicationProperties(
+            false,
+            new ApplicationProperties.AuthCache(Duration.ofMinutes(5), 100),
+            null,
+            null,
+            null
+        );
+        provider = new CachingAuthenticationProvider(
+            userDetailsService, passwordEncoder, props, new SimpleMeterRegistry()
+        );
+        user = new User(randomUUID(), "user", "hash", List.of());
+        when(userDetailsService.loadUserByUsername("user")).thenReturn(user);
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+    }
+
+    @Test
+    void authenticate_repeatedRequest_skipsDbAndPasswordCheck() {
+        // when
+        provider.authenticate(basic("user", "secret"));
+        Authentication result = provider.authenticate(basic("user", "secret"));
+
+        // then
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getPrincipal()).isSameAs(user);
+        verify(userDetailsService, times(1)).loadUserByUsername("user");
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+    }
+
+    @Test
+    void authenticate_wrongPasswordAfterSuccess_throwBadCredentials() {
+        // given
+        provider.authenticate(basic("user", "secret"));
+
+        // then
+        assertThatThrownBy(() -> provider.authenticate(basic("user", "wrong")))
+            .isInstanceOf(BadCredentialsException.class);
+    }
+
+    private static Authentication basic(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.nightcityroleplay.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,7 +8,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.ErrorResponseException;
@@ -18,14 +21,17 @@ import ru.nightcityroleplay.backend.dto.implants.*;
 import ru.nightcityroleplay.backend.entity.*;
 import ru.nightcityroleplay.backend.repo.CharacterRepository;
 import ru.nightcityroleplay.backend.repo.ImplantRepository;
+import ru.nightcityroleplay.backend.repo.ReputationGrantRepository;
 import ru.nightcityroleplay.backend.repo.SkillRepository;
 import ru.nightcityroleplay.backend.repo.WeaponRepository;
 import ru.nightcityroleplay.backend.util.Call;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
 
 import java.util.*;
 
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,24 +41,27 @@ class CharacterServiceTest {
 
     CharacterService service;
     CharacterStatsService characterStatsService;
-    CharacterClassService characterClassService;
     WeaponRepository weaponRepo;
     CharacterRepository charRepo;
     SkillRepository skillRepo;
     private Pageable pageable;
     ImplantRepository implantRepo;
+    ReputationGrantRepository reputationGrantRepo;
+    SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         characterStatsService = mock();
-        characterClassService = mock();
         weaponRepo = mock();
         pageable = mock();
         charRepo = mock();
         skillRepo = mock();
         implantRepo = mock();
+        reputationGrantRepo = mock();
 
-        service = new CharacterService(charRepo, characterStatsService, characterClassService, weaponRepo, skillRepo, implantRepo);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CharacterService(charRepo, characterStatsService, weaponRepo, skillRepo, implantRepo,
+            reputationGrantRepo, meterRegistry);
     }
 
     @Test
@@ -72,6 +81,36 @@ class CharacterServiceTest {
 
     }
 
+    @Test
+    void getCharacterVersion_characterExists_entityNotLoaded() {
+        // given
+        UUID id = randomUUID();
+        when(charRepo.findVersionById(id))
+            .thenReturn(Optional.of(3L));
+
+        // when
+        long version = service.getCharacterVersion(id);
+
+        // then
+        assertThat(version).isEqualTo(3L);
+        verify(charRepo, never()).findById(any());
+    }
+
+    @Test
+    void getCharacterVersion_characterIsAbsent_throw404() {
+        // given
+        UUID id = randomUUID();
+        when(charRepo.findVersionById(id))
+            .thenReturn(Optional.empty());
+
+        // then
+        assertThatThrownBy(() -> service.getCharacterVersion(id))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ErrorResponseException::getStatusCode)
+            .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     void createCharacter_ShouldThrowUnprocessableEntity_WhenCharacterNameExists() {
         // given
@@ -186,10 +225,11 @@ class CharacterServiceTest {
         character2.setWeapons(new ArrayList<>());
         character2.setReputation(5);
 
-        List<CharacterEntity> characterList = List.of(character1, character2);
-        Page<CharacterEntity> characterPage = new PageImpl<>(characterList, pageable, characterList.size());
+        List<UUID> ids = List.of(character1.getId(), character2.getId());
+        Page<UUID> idPage = new PageImpl<>(ids, pageable, ids.size());
 
-        when(charRepo.findAll(pageable)).thenReturn(characterPage);
+        when(charRepo.findPageIds(pageable)).thenReturn(idPage);
+        when(charRepo.findWithWeaponsByIdIn(ids)).thenReturn(List.of(character2, character1));
 
         // when
         Page<CharacterDto> result = service.getCharacterPage(pageable);
@@ -204,8 +244,8 @@ class CharacterServiceTest {
     @Test
     void getCharacterPage_characterPageNotExists_isEmpty() {
         // given
-        Page<CharacterEntity> characterPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-        when(charRepo.findAll(pageable)).thenReturn(characterPage);
+        Page<UUID> idPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        when(charRepo.findPageIds(pageable)).thenReturn(idPage);
 
         // when
         Page<CharacterDto> result = service.getCharacterPage(pageable);
@@ -213,8 +253,94 @@ class CharacterServiceTest {
         // then
         assertThat(result.getTotalElements()).isEqualTo(0);
         assertThat(result.getContent()).isEmpty();
+        verify(charRepo, never()).findWithWeaponsByIdIn(any());
+    }
+
+
+    @Test
+    void scrollCharacters_afterCursor_seekWithoutCount() {
+        // given
+        CharacterEntity character = new CharacterEntity();
+        character.setId(UUID.randomUUID());
+        character.setName("Character 3");
+        character.setWeapons(new ArrayList<>());
+        character.setReputation(5);
+        UUID afterId = UUID.randomUUID();
+        String cursor = new KeysetCursor("Character 2", afterId).encode();
+
+        when(charRepo.findIdsOrderedByNameAfter("Character 2", afterId, PageRequest.of(0, 2)))
+            .thenReturn(List.of(character.getId()));
+        when(charRepo.findWithWeaponsByIdIn(List.of(character.getId()))).thenReturn(List.of(character));
+
+        // when
+        CursorPage<CharacterDto> result = service.scrollCharacters(cursor, 1);
+
+        // then
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).getName()).isEqualTo("Character 3");
+        assertThat(result.nextCursor()).isNull();
+        verify(charRepo, never()).findPageIds(any());
+        verify(charRepo, never()).count();
+    }
+
+    @Test
+    void searchCharacters_unsorted_sortByNameAndLoadPage() {
+        // given
+        CharacterEntity character = new CharacterEntity();
+        character.setId(UUID.randomUUID());
+        character.setName("Character 1");
+        character.setWeapons(new ArrayList<>());
+        character.setReputation(5);
+        var request = new CharacterSearchRequest();
+        request.setOrganization("Arasaka");
+        request.setName("char");
+        Pageable sortedByName = PageRequest.of(0, 10, Sort.by("name"));
+
+        when(charRepo.findIds(any(), eq(sortedByName)))
+            .thenReturn(new PageImpl<>(List.of(character.getId()), sortedByName, 11));
+        when(charRepo.findWithWeaponsByIdIn(List.of(character.getId()))).thenReturn(List.of(character));
+
+        // when
+        Page<CharacterDto> result = service.searchCharacters(request, PageRequest.of(0, 10));
+
+        // then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getName()).isEqualTo("Character 1");
+        assertThat(result.getTotalElements()).isEqualTo(11);
+        verify(charRepo, never()).findAll();
     }
 
+    @Test
+    void searchCharacters_minReputationAboveMax_throw400() {
+        // given
+        var request = new CharacterSearchRequest();
+        request.setMinReputation(10);
+        request.setMaxReputation(5);
+
+        // when & then
+        assertThatThrownBy(() -> service.searchCharacters(request, PageRequest.of(0, 10)))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Минимальная репутация больше максимальной")
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ErrorResponseException::getStatusCode)
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(charRepo);
+    }
+
+    @Test
+    void searchCharacters_unknownSortProperty_throw400() {
+        // given
+        Pageable byOwner = PageRequest.of(0, 10, Sort.by("ownerId"));
+
+        // when & then
+        assertThatThrownBy(() -> service.searchCharacters(new CharacterSearchRequest(), byOwner))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Сортировка по полю ownerId не поддерживается")
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ErrorResponseException::getStatusCode)
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(charRepo);
+    }
 
     @Test
     void updateCharacter_characterIsAbsent_throw404() {
@@ -253,6 +379,38 @@ class CharacterServiceTest {
 
     }
 
+    @Test
+    void updateCharacterSkill_severalSkills_loadedInOneQuery() {
+        // given
+        UUID characterId = randomUUID();
+        var character = new CharacterEntity();
+        character.setId(characterId);
+        character.setReputation(0);
+        character.setBattlePoints(10);
+        character.setCivilPoints(10);
+
+        var skill1 = new Skill();
+        skill1.setId(randomUUID());
+        skill1.setBattleCost(1);
+        var skill2 = new Skill();
+        skill2.setId(randomUUID());
+        skill2.setCivilCost(1);
+
+        var request = new UpdateCharacterSkillsRequest();
+        request.setSkillIds(List.of(skill1.getId(), skill2.getId()));
+
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+        when(skillRepo.findAllByIdIn(request.getSkillIds())).thenReturn(List.of(skill2, skill1));
+
+        // when
+        service.updateCharacterSkill(request, characterId);
+
+        // then
+        assertThat(character.getSkills()).containsExactly(skill1, skill2);
+        verify(skillRepo, times(1)).findAllByIdIn(any());
+        verify(skillRepo, never()).findById(any());
+    }
+
     @Test
     void firstSelectCharacterSkill_unauthorized_throw403() {
         // given
@@ -298,7 +456,7 @@ class CharacterServiceTest {
         when(auth.getPrincipal()).thenReturn(user);
 
         when(charRepo.findById(characterId)).thenReturn(Optional.of(oldCharacter));
-        when(skillRepo.findById(any(UUID.class))).thenReturn(Optional.empty()); // Навык не найден
+        when(skillRepo.findAllByIdIn(request.getSkillIds())).thenReturn(List.of()); // Навык не найден
 
         // then
         assertThatThrownBy(() -> service.upgradeCharacterSkill(request, characterId, auth))
@@ -353,8 +511,9 @@ class CharacterServiceTest {
 
 
         when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
-        when(skillRepo.findById(skillId)).thenReturn(Optional.of(currentSkill));
-        when(skillRepo.findBySkillFamilyAndLevel(any(), eq(2))).thenReturn(Optional.of(nextSkill));
+        when(skillRepo.findAllByIdIn(List.of(skillId))).thenReturn(List.of(currentSkill));
+        when(skillRepo.findAllBySkillFamilyInAndLevelIn(Set.of("long_blade"), Set.of(2)))
+            .thenReturn(List.of(nextSkill));
 
         // then
         assertThatThrownBy(() -> service.upgradeCharacterSkill(request, characterId, auth))
@@ -436,8 +595,9 @@ class CharacterServiceTest {
         totalCivilPoints +=  character.getCivilPoints() - nextSkill.getCivilCost();
 
         when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
-        when(skillRepo.findById(skillId)).thenReturn(Optional.of(currentSkill));
-        when(skillRepo.findBySkillFamilyAndLevel("long_blade", 2)).thenReturn(Optional.of(nextSkill));
+        when(skillRepo.findAllByIdIn(List.of(skillId))).thenReturn(List.of(currentSkill));
+        when(skillRepo.findAllBySkillFamilyInAndLevelIn(Set.of("long_blade"), Set.of(2)))
+            .thenReturn(List.of(nextSkill));
 
         // when
         service.upgradeCharacterSkill(request, characterId, auth);
@@ -451,6 +611,7 @@ class CharacterServiceTest {
 
         // Проверяем, что сущность персонажа сохранена
         verify(charRepo).save(character);
+        assertThat(meterRegistry.get("character_skills_upgraded").counter().count()).isEqualTo(1);
     }
 
     @Test
@@ -636,6 +797,7 @@ class CharacterServiceTest {
         when(auth.getPrincipal())
             .thenReturn(user);
 
+        when(charRepo.addReputation(characterId, 10)).thenReturn(1);
         when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
         when(auth.getPrincipal()).thenReturn(user);
 
@@ -643,8 +805,107 @@ class CharacterServiceTest {
         service.giveReputation(request, characterId, auth);
 
         // then
-        assertEquals(60, character.getReputation());
-        verify(charRepo).save(character);
+        verify(charRepo).addReputation(characterId, 10);
+        verify(characterStatsService).updateCharacterStats(character);
+        verify(charRepo, never()).save(any());
+        ArgumentCaptor<ReputationGrant> grantCaptor = ArgumentCaptor.forClass(ReputationGrant.class);
+        verify(reputationGrantRepo).save(grantCaptor.capture());
+        assertThat(grantCaptor.getValue().getCharacterId()).isEqualTo(characterId);
+        assertThat(grantCaptor.getValue().getReputation()).isEqualTo(10);
+        assertThat(grantCaptor.getValue().getGrantedBy()).isEqualTo(user.getId());
+    }
+
+    @Test
+    public void giveReputation_characterNotExists_throw404() {
+        // given
+        UUID characterId = UUID.randomUUID();
+        GiveReputationRequest request = new GiveReputationRequest();
+        request.setReputation(10);
+
+        when(charRepo.addReputation(characterId, 10)).thenReturn(0);
+
+        // then
+        assertThatThrownBy(() -> service.giveReputation(request, characterId, mock()))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ErrorResponseException::getStatusCode)
+            .isEqualTo(HttpStatus.NOT_FOUND);
+        verify(charRepo, never()).findById(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void giveReputationBulk_severalGrants_appliedOnceWithAuditPerGrant() {
+        // given
+        CharacterEntity first = new CharacterEntity().setId(randomUUID()).setReputation(10);
+        CharacterEntity second = new CharacterEntity().setId(randomUUID()).setReputation(0);
+        var request = new GiveReputationBulkRequest(List.of(
+            new CharacterReputation(first.getId(), 5),
+            new CharacterReputation(second.getId(), 7),
+            new CharacterReputation(first.getId(), 3)
+        ));
+        Authentication auth = mock();
+        User user = new User();
+        user.setId(randomUUID());
+        when(auth.getPrincipal()).thenReturn(user);
+        when(charRepo.findForUpdateByIdIn(Set.of(first.getId(), second.getId())))
+            .thenReturn(List.of(first, second));
+
+        // when
+        service.giveReputationBulk(request, auth);
+
+        // then
+        assertThat(first.getReputation()).isEqualTo(18);
+        assertThat(second.getReputation()).isEqualTo(7);
+        verify(characterStatsService).updateCharacterStats(first);
+        verify(characterStatsService).updateCharacterStats(second);
+        verify(charRepo, never()).save(any());
+        ArgumentCaptor<List<ReputationGrant>> grantsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(reputationGrantRepo).saveAll(grantsCaptor.capture());
+        assertThat(grantsCaptor.getValue())
+            .extracting(ReputationGrant::getCharacterId, ReputationGrant::getReputation)
+            .containsExactly(
+                tuple(first.getId(), 5),
+                tuple(second.getId(), 7),
+                tuple(first.getId(), 3)
+            );
+        assertThat(meterRegistry.get("character_reputation_granted").counter().count()).isEqualTo(15);
+    }
+
+    @Test
+    void giveReputationBulk_unknownCharacter_throw404() {
+        // given
+        CharacterEntity known = new CharacterEntity().setId(randomUUID()).setReputation(0);
+        UUID unknownId = randomUUID();
+        var request = new GiveReputationBulkRequest(List.of(
+            new CharacterReputation(known.getId(), 5),
+            new CharacterReputation(unknownId, 5)
+        ));
+        when(charRepo.findForUpdateByIdIn(any())).thenReturn(List.of(known));
+
+        // then
+        assertThatThrownBy(() -> service.giveReputationBulk(request, mock()))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining(unknownId.toString())
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ErrorResponseException::getStatusCode)
+            .isEqualTo(HttpStatus.NOT_FOUND);
+        verifyNoInteractions(reputationGrantRepo);
+    }
+
+    @Test
+    void giveReputationBulk_emptyOrIncompleteGrants_throw400() {
+        // then
+        assertThatThrownBy(() -> service.giveReputationBulk(new GiveReputationBulkRequest(List.of()), mock()))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Список начислений пуст");
+        var incomplete = new GiveReputationBulkRequest(List.of(new CharacterReputation(randomUUID(), null)));
+        assertThatThrownBy(() -> service.giveReputationBulk(incomplete, mock()))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ErrorResponseException::getStatusCode)
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(charRepo);
     }
 
     @Test
@@ -755,6 +1016,8 @@ class CharacterServiceTest {
         character.setId(characterId);
         character.setOwnerId(user.getId());
         character.setReputation(1);
+        character.setImplantPoints(7);
+        character.setSpecialImplantPoints(0);
 
         Implant implant = new Implant();
         implant.setId(UUID.randomUUID());
@@ -776,4 +1039,222 @@ class CharacterServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
         assertEquals("Недостаточно ОИ для обычных имплантов", exception.getReason());
     }
+
+    @Test
+    public void putCharacterImplant_ownedImplantsSpentPoints_throw400() {
+        // given
+        UUID characterId = UUID.randomUUID();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(user);
+
+        CharacterEntity character = new CharacterEntity();
+        character.setId(characterId);
+        character.setOwnerId(user.getId());
+        character.setReputation(1);
+        character.setImplantPoints(7);
+        character.setSpecialImplantPoints(0);
+        character.setSpentImplantPoints(6);
+
+        Implant implant = new Implant();
+        implant.setId(UUID.randomUUID());
+        implant.setImplantPointsCost(2);
+
+        UpdateCharacterImplantsRequest request = new UpdateCharacterImplantsRequest();
+        request.setImplantIds(List.of(implant.getId()));
+
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+        when(implantRepo.findById(implant.getId())).thenReturn(Optional.of(implant));
+
+        // when & then
+        assertThatThrownBy(() -> service.updateCharacterImplants(request, characterId, auth))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Недостаточно ОИ для обычных имплантов");
+        assertThat(character.getImplants()).isEmpty();
+        assertThat(character.getSpentImplantPoints()).isEqualTo(6);
+    }
+
+    @Test
+    public void putCharacterImplant_enoughPoints_spentPointsIncreased() {
+        // given
+        UUID characterId = UUID.randomUUID();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(user);
+
+        CharacterEntity character = new CharacterEntity();
+        character.setId(characterId);
+        character.setOwnerId(user.getId());
+        character.setReputation(1);
+        character.setImplantPoints(7);
+        character.setSpecialImplantPoints(2);
+        character.setSpentImplantPoints(3);
+
+        Implant implant = new Implant();
+        implant.setId(UUID.randomUUID());
+        implant.setImplantPointsCost(4);
+        implant.setSpecialImplantPointsCost(1);
+
+        UpdateCharacterImplantsRequest request = new UpdateCharacterImplantsRequest();
+        request.setImplantIds(List.of(implant.getId()));
+
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+        when(implantRepo.findById(implant.getId())).thenReturn(Optional.of(implant));
+
+        // when
+        service.updateCharacterImplants(request, characterId, auth);
+
+        // then
+        assertThat(character.getImplants()).containsExactly(implant);
+        assertThat(character.getSpentImplantPoints()).isEqualTo(7);
+        assertThat(meterRegistry.get("character_implants_installed").counter().count()).isEqualTo(1);
+        assertThat(character.getSpentSpecialImplantPoints()).isEqualTo(1);
+        verify(charRepo).save(character);
+    }
+
+    @Test
+    public void removeCharacterImplant_implantInstalled_pointsReturned() {
+        // given
+        UUID characterId = UUID.randomUUID();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(user);
+
+        Implant implant = new Implant();
+        implant.setId(UUID.randomUUID());
+        implant.setImplantPointsCost(4);
+        implant.setSpecialImplantPointsCost(1);
+
+        CharacterEntity character = new CharacterEntity();
+        character.setId(characterId);
+        character.setOwnerId(user.getId());
+        character.getImplants().add(implant);
+        character.setSpentImplantPoints(5);
+        character.setSpentSpecialImplantPoints(1);
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+
+        // when
+        service.removeCharacterImplant(characterId, implant.getId(), auth);
+
+        // then
+        assertThat(character.getImplants()).isEmpty();
+        assertThat(character.getSpentImplantPoints()).isEqualTo(1);
+        assertThat(character.getSpentSpecialImplantPoints()).isZero();
+        verify(charRepo).save(character);
+    }
+
+    @Test
+    public void removeCharacterImplant_implantNotInstalled_throw404() {
+        // given
+        UUID characterId = UUID.randomUUID();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(user);
+
+        CharacterEntity character = new CharacterEntity();
+        character.setId(characterId);
+        character.setOwnerId(user.getId());
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+
+        // when & then
+        assertThatThrownBy(() -> service.removeCharacterImplant(characterId, randomUUID(), auth))
+            .isInstanceOf(ResponseStatusException.class)
+            .matches(e -> ((ResponseStatusException) e).getStatusCode() == HttpStatus.NOT_FOUND);
+        verify(charRepo, never()).save(any());
+    }
+
+    @Test
+    void selectInitialCharacterSkills_enoughPoints_spentPointsIncreased() {
+        // given
+        UUID characterId = randomUUID();
+        User user = new User();
+        user.setId(randomUUID());
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(user);
+
+        CharacterEntity character = new CharacterEntity();
+        character.setId(characterId);
+        character.setOwnerId(user.getId());
+        character.setBattlePoints(3);
+        character.setCivilPoints(2);
+
+        Skill battleSkill = new Skill();
+        battleSkill.setId(randomUUID());
+        battleSkill.setLevel(1);
+        battleSkill.setBattleCost(3);
+        Skill civilSkill = new Skill();
+        civilSkill.setId(randomUUID());
+        civilSkill.setLevel(1);
+        civilSkill.setCivilCost(2);
+        UpdateCharacterSkillsRequest request = new UpdateCharacterSkillsRequest();
+        request.setSkillIds(List.of(battleSkill.getId(), civilSkill.getId()));
+
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+        when(skillRepo.findAllByIdIn(request.getSkillIds())).thenReturn(List.of(battleSkill, civilSkill));
+
+        // when
+        service.selectInitialCharacterSkills(request, characterId, auth);
+
+        // then
+        assertThat(character.getSkills()).containsExactly(battleSkill, civilSkill);
+        assertThat(character.getSpentBattlePoints()).isEqualTo(3);
+        assertThat(character.getSpentCivilPoints()).isEqualTo(2);
+    }
+
+    @Test
+    void updateCharacterSkill_ownedSkillsSpentPoints_throw400() {
+        // given
+        UUID characterId = randomUUID();
+        CharacterEntity character = new CharacterEntity();
+        character.setId(characterId);
+        character.setReputation(10);
+        character.setBattlePoints(5);
+        character.setCivilPoints(5);
+        character.setSpentBattlePoints(4);
+
+        Skill skill = new Skill();
+        skill.setId(randomUUID());
+        skill.setBattleCost(2);
+        UpdateCharacterSkillsRequest request = new UpdateCharacterSkillsRequest();
+        request.setSkillIds(List.of(skill.getId()));
+
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+        when(skillRepo.findAllByIdIn(request.getSkillIds())).thenReturn(List.of(skill));
+
+        // when & then
+        assertThatThrownBy(() -> service.updateCharacterSkill(request, characterId))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Недостаточно БО");
+        assertThat(character.getSpentBattlePoints()).isEqualTo(4);
+    }
+
+    @Test
+    void getCharacterBudget_characterExists_remainingIsAvailableMinusSpent() {
+        // given
+        UUID characterId = randomUUID();
+        CharacterEntity character = new CharacterEntity();
+        character.setId(characterId);
+        character.setBattlePoints(10);
+        character.setCivilPoints(6);
+        character.setImplantPoints(7);
+        character.setSpecialImplantPoints(null);
+        character.setSpentBattlePoints(4);
+        character.setSpentCivilPoints(6);
+        character.setSpentImplantPoints(2);
+        when(charRepo.findById(characterId)).thenReturn(Optional.of(character));
+
+        // when
+        CharacterBudgetDto budget = service.getCharacterBudget(characterId);
+
+        // then
+        assertThat(budget.characterId()).isEqualTo(characterId);
+        assertThat(budget.battlePoints()).isEqualTo(new PointsBudget(10, 4, 6));
+        assertThat(budget.civilPoints()).isEqualTo(new PointsBudget(6, 6, 0));
+        assertThat(budget.implantPoints()).isEqualTo(new PointsBudget(7, 2, 5));
+        assertThat(budget.specialImplantPoints()).isEqualTo(new PointsBudget(0, 0, 0));
+    }
 }
@@ -0,0 +1,106 @@
+package ru.nightcityroleplay.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.nightcityroleplay.backend.config.StatsProperties;
+import ru.nightcityroleplay.backend.entity.CharacterEntity;
+import ru.nightcityroleplay.backend.repo.CharacterRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CharacterStatsRecalculationTest {
+
+    CharacterRepository charRepo;
+    CharacterStatsService statsService;
+    PlatformTransactionManager transactionManager;
+    CharacterStatsRecalculation recalculation;
+
+    @BeforeEach
+    void setUp() {
+        charRepo = mock();
+        statsService = new CharacterStatsService(
+            StatsProperties.defaults(), new CharacterClassService(StatsProperties.defaults()));
+        transactionManager = mock();
+        recalculation = new CharacterStatsRecalculation(charRepo, statsService, transactionManager);
+    }
+
+    @Test
+    void recalculateAll_staleAndActualCharacters_onlyStaleChanged() {
+        // given
+        CharacterEntity actual = new CharacterEntity().setId(randomUUID()).setAge(30).setReputation(90)
+            .setCharacterClass("Соло");
+        statsService.updateCharacterStats(actual);
+        CharacterEntity stale = new CharacterEntity().setId(randomUUID()).setAge(30).setReputation(90)
+            .setCharacterClass("Соло").setBattlePoints(0).setCivilPoints(0);
+        when(charRepo.findBatchOrderedById(any())).thenReturn(List.of(actual, stale));
+
+        // when
+        int changed = recalculation.recalculateAll();
+
+        // then
+        assertThat(changed).isEqualTo(1);
+        assertThat(stale.getImplantPoints()).isEqualTo(actual.getImplantPoints());
+        assertThat(stale.getSpecialImplantPoints()).isEqualTo(actual.getSpecialImplantPoints());
+        assertThat(stale.getBattlePoints()).isEqualTo(actual.getBattlePoints());
+        verify(charRepo, never()).findBatchOrderedByIdAfter(any(), any());
+    }
+
+    @Test
+    void recalculateAll_batchConflicts_recalculatedOneByOneAndContinued() {
+        // given
+        List<CharacterEntity> firstBatch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            firstBatch.add(stale());
+        }
+        CharacterEntity next = stale();
+        when(charRepo.findBatchOrderedById(any())).thenReturn(firstBatch);
+        firstBatch.forEach(character -> when(charRepo.findById(character.getId())).thenReturn(Optional.of(character)));
+        when(charRepo.findBatchOrderedByIdAfter(eq(firstBatch.get(499).getId()), any())).thenReturn(List.of(next));
+        doThrow(new OptimisticLockingFailureException("conflict")).doNothing()
+            .when(transactionManager).commit(any());
+
+        // when
+        recalculation.recalculateAll();
+
+        // then
+        verify(charRepo, times(500)).findById(any());
+        assertThat(firstBatch).allMatch(character -> character.getImplantPoints() != null);
+        assertThat(next.getImplantPoints()).isNotNull();
+    }
+
+    @Test
+    void recalculateAll_characterKeepsConflicting_skippedAfterRetries() {
+        // given
+        CharacterEntity conflicting = stale();
+        CharacterEntity other = stale();
+        when(charRepo.findBatchOrderedById(any())).thenReturn(List.of(conflicting, other));
+        when(charRepo.findById(conflicting.getId())).thenReturn(Optional.of(conflicting));
+        when(charRepo.findById(other.getId())).thenReturn(Optional.of(other));
+        var conflict = new OptimisticLockingFailureException("conflict");
+        doThrow(conflict).doNothing().doThrow(conflict).doThrow(conflict).doThrow(conflict).doNothing()
+            .when(transactionManager).commit(any());
+
+        // when
+        recalculation.recalculateAll();
+
+        // then
+        verify(charRepo, times(3)).findById(conflicting.getId());
+        verify(charRepo).findById(other.getId());
+        assertThat(other.getImplantPoints()).isNotNull();
+    }
+
+    private static CharacterEntity stale() {
+        return new CharacterEntity().setId(randomUUID()).setAge(30).setReputation(90).setCharacterClass("Соло")
+            .setBattlePoints(0).setCivilPoints(0);
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockitoAnnotations;
+import ru.nightcityroleplay.backend.config.StatsProperties;
 import ru.nightcityroleplay.backend.entity.CharacterEntity;
 
 import java.util.stream.Stream;
@@ -21,7 +22,8 @@ public class CharacterStatsSeviceTest {
 
         MockitoAnnotations.openMocks(this);
 
-        statsService = new CharacterStatsService();
+        statsService = new CharacterStatsService(
+            StatsProperties.defaults(), new CharacterClassService(StatsProperties.defaults()));
     }
 
     @ParameterizedTest
@@ -57,6 +59,28 @@ public class CharacterStatsSeviceTest {
     }
 
 
+    @ParameterizedTest
+    @MethodSource("calculateSpecialImplantPointsData")
+    void calculateSpecialImplantPoints(int reputation, int reqSpecialImplantPoints) {
+        // when
+        int specialImplantPoints = statsService.calculateSpecialImplantPoints(reputation);
+
+        // then
+        assertThat(specialImplantPoints).isEqualTo(reqSpecialImplantPoints);
+    }
+
+    public static Stream<Arguments> calculateSpecialImplantPointsData() {
+        // reputation, reqSpecialImplantPoints
+        return Stream.of(
+            Arguments.of(0, 0),
+            Arguments.of(89, 0),
+            Arguments.of(90, 1),
+            Arguments.of(120, 2),
+            Arguments.of(179, 3),
+            Arguments.of(500, 4)
+        );
+    }
+
     @Test
     void calculateBattlePoints_youngAge_success() {
         // given
@@ -107,4 +131,22 @@ public class CharacterStatsSeviceTest {
         // then
         assertThat(result).isEqualTo(13);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateCharacterStats_solo_implantPointsWithBonusPersisted() {
+        // given
+        var character = new CharacterEntity();
+        character.setReputation(90);
+        character.setAge(30);
+        character.setCharacterClass("Соло");
+
+        // when
+        statsService.updateCharacterStats(character);
+
+        // then
+        assertThat(character.getBattlePoints()).isEqualTo(20);
+        assertThat(character.getCivilPoints()).isEqualTo(18);
+        assertThat(character.getImplantPoints()).isEqualTo(11 + 2);
+        assertThat(character.getSpecialImplantPoints()).isEqualTo(1);
+    }
+}
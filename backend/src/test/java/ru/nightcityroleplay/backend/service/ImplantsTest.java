@@ -1,22 +1,27 @@
 package ru.nightcityroleplay.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.server.ResponseStatusException;
+import ru.nightcityroleplay.backend.dto.IdsRequest;
 import ru.nightcityroleplay.backend.dto.implants.CreateImplantRequest;
 import ru.nightcityroleplay.backend.dto.implants.UpdateImplantRequest;
 import ru.nightcityroleplay.backend.entity.Implant;
 import ru.nightcityroleplay.backend.entity.User;
+import ru.nightcityroleplay.backend.repo.AssignmentsCount;
 import ru.nightcityroleplay.backend.repo.ImplantRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,7 +38,7 @@ public class ImplantsTest {
     @BeforeEach
     void setUp() {
         implantRepo = mock();
-        service = new ImplantService(implantRepo);
+        service = new ImplantService(implantRepo, new SimpleMeterRegistry());
     }
 
     @Test
@@ -87,8 +92,8 @@ public class ImplantsTest {
         implant.setImplantPointsCost(3);
         implant.setSpecialImplantPointsCost(0);
 
-        when(implantRepo.findById(implantId))
-            .thenReturn(Optional.of(implant));
+        when(implantRepo.findAll())
+            .thenReturn(List.of(implant));
 
         // when
         var result = service.getImplant(implantId);
@@ -107,6 +112,20 @@ public class ImplantsTest {
         assertThat(result.getSpecialImplantPointsCost()).isEqualTo(0);
     }
 
+    @Test
+    void getImplant_implantIsAbsent_throw404() {
+        // given
+        UUID implantId = randomUUID();
+        when(implantRepo.findAll())
+            .thenReturn(List.of());
+
+        // then
+        assertThatThrownBy(() -> service.getImplant(implantId))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Имплант не найден")
+            .matches(exception -> ((ResponseStatusException) exception).getStatusCode() == HttpStatus.NOT_FOUND);
+    }
+
     @Test
     public void updateImplant_implantExists_success() {
         // given
@@ -138,6 +157,32 @@ public class ImplantsTest {
         verify(implantRepo).save(existingImplant); // Убедитесь, что метод save был вызван
     }
 
+    @Test
+    public void updateImplant_costChanged_ownersSpentPointsShifted() {
+        // given
+        UUID implantId = UUID.randomUUID();
+        Implant existingImplant = new Implant();
+        existingImplant.setId(implantId);
+        existingImplant.setImplantPointsCost(5);
+        existingImplant.setSpecialImplantPointsCost(1);
+
+        UpdateImplantRequest request = new UpdateImplantRequest();
+        request.setName("Имплант");
+        request.setImplantType("Конечность");
+        request.setDescription("Описание");
+        request.setReputationRequirement(0);
+        request.setImplantPointsCost(3);
+        request.setSpecialImplantPointsCost(1);
+
+        when(implantRepo.findById(implantId)).thenReturn(Optional.of(existingImplant));
+
+        // when
+        service.updateImplant(request, implantId, "Имплант");
+
+        // then
+        verify(implantRepo).addSpentPointsToOwners(implantId, -2, 0);
+    }
+
 
     @Test
     void updateImplant_implantIsAbsent_throwException() {
@@ -218,5 +263,90 @@ public class ImplantsTest {
         assertThat(exception.getMessage()).contains("Имплант не найден");
         verify(implantRepo, never()).delete(any(Implant.class));
     }
-}
 
+    @Test
+    public void deleteImplant_implantAssigned_throw422() {
+        // given
+        UUID implantId = UUID.randomUUID();
+        Implant implant = new Implant();
+        implant.setId(implantId);
+
+        when(implantRepo.findById(implantId)).thenReturn(Optional.of(implant));
+        when(implantRepo.existsAssignments(implantId)).thenReturn(true);
+
+        // when
+        ResponseStatusException exception = assertThrows(
+            ResponseStatusException.class,
+            () -> service.deleteImplant(implantId, false)
+        );
+
+        // then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        verify(implantRepo, never()).delete(any(Implant.class));
+    }
+
+    @Test
+    public void deleteImplant_implantAssignedAndIgnored_assignmentsDeleted() {
+        // given
+        UUID implantId = UUID.randomUUID();
+        Implant implant = new Implant();
+        implant.setId(implantId);
+        implant.setImplantPointsCost(3);
+        implant.setSpecialImplantPointsCost(1);
+
+        when(implantRepo.findById(implantId)).thenReturn(Optional.of(implant));
+
+        // when
+        service.deleteImplant(implantId, true);
+
+        // then
+        verify(implantRepo, never()).existsAssignments(implantId);
+        verify(implantRepo).addSpentPointsToOwners(implantId, -3, -1);
+        verify(implantRepo).deleteAssignments(implantId);
+        verify(implantRepo).delete(implant);
+    }
+
+    @Test
+    public void getImplantAssignmentsCount_implantExists_countedByQuery() {
+        // given
+        UUID implantId = UUID.randomUUID();
+        when(implantRepo.existsById(implantId)).thenReturn(true);
+        when(implantRepo.countAssignments(implantId)).thenReturn(3L);
+
+        // when
+        Integer result = service.getImplantAssignmentsCount(implantId);
+
+        // then
+        assertThat(result).isEqualTo(3);
+        verify(implantRepo, never()).findById(any());
+    }
+
+    @Test
+    public void getImplantAssignmentsCounts_someAssigned_zeroForOthers() {
+        // given
+        UUID assigned = randomUUID();
+        UUID free = randomUUID();
+        when(implantRepo.countAssignmentsByIds(any())).thenReturn(List.of(assignmentsCount(assigned, 5)));
+
+        // when
+        Map<UUID, Long> result = service.getImplantAssignmentsCounts(new IdsRequest(List.of(assigned, free)));
+
+        // then
+        assertThat(result).containsExactly(entry(assigned, 5L), entry(free, 0L));
+        verify(implantRepo, times(1)).countAssignmentsByIds(any());
+    }
+
+    private static AssignmentsCount assignmentsCount(UUID id, long assignments) {
+        return new AssignmentsCount() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public long getAssignments() {
+                return assignments;
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package ru.nightcityroleplay.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.nightcityroleplay.backend.constant.Roles;
+import ru.nightcityroleplay.backend.dto.GiveReputationRequest;
+import ru.nightcityroleplay.backend.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Параллельные начисления репутации одному персонажу не теряются. Без Docker тест пропускается.
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReputationConcurrencyTest {
+
+    private static final int GRANTS = 300;
+    private static final int THREADS = 32;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    CharacterService characterService;
+    @Autowired
+    CharacterStatsService characterStatsService;
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void giveReputation_parallelGrants_noneLost() throws Exception {
+        // given
+        UUID ownerId = UUID.randomUUID();
+        UUID characterId = UUID.randomUUID();
+        jdbc.update("insert into users (id, username, password) values (?, 'owner', 'x')", ownerId);
+        jdbc.update("""
+            insert into characters (id, owner_id, name, age, reputation, height, weight, organization,
+                                    character_class, battle_points, civil_points)
+            values (?, ?, 'concurrent', 25, 0, 180, 80, 'org', 'SOLO', 0, 0)
+            """, characterId, ownerId);
+        Authentication admin = new UsernamePasswordAuthenticationToken(
+            User.builder().id(UUID.randomUUID()).username("admin").build(), null, List.of(new SimpleGrantedAuthority(Roles.ADMIN)));
+        int expectedReputation = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> grants = new ArrayList<>();
+
+        // when
+        try {
+            for (int i = 0; i < GRANTS; i++) {
+                GiveReputationRequest request = new GiveReputationRequest();
+                request.setReputation(i % 7 + 1);
+                expectedReputation += request.getReputation();
+                grants.add(executor.submit(() -> {
+                    start.await();
+                    SecurityContextHolder.getContext().setAuthentication(admin);
+                    try {
+                        characterService.giveReputation(request, characterId, admin);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> grant : grants) {
+                grant.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        Map<String, Object> row = jdbc.queryForMap(
+            "select reputation, battle_points, civil_points, version from characters where id = ?", characterId);
+        assertThat(row.get("reputation")).isEqualTo(expectedReputation);
+        assertThat(row.get("battle_points"))
+            .isEqualTo(characterStatsService.calculateBattlePoints(25, expectedReputation));
+        assertThat(row.get("civil_points"))
+            .isEqualTo(characterStatsService.calculateCivilPoints(expectedReputation));
+        assertThat((Long) row.get("version")).isGreaterThanOrEqualTo(GRANTS);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.nightcityroleplay.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -11,15 +12,16 @@ import org.springframework.web.ErrorResponseException;
 import org.springframework.web.server.ResponseStatusException;
 import ru.nightcityroleplay.backend.dto.skills.CreateSkillRequest;
 import ru.nightcityroleplay.backend.dto.skills.CreateSkillResponse;
+import ru.nightcityroleplay.backend.dto.skills.ImportSkillFamiliesRequest;
 import ru.nightcityroleplay.backend.dto.skills.SkillDto;
 import ru.nightcityroleplay.backend.dto.skills.UpdateSkillRequest;
 import ru.nightcityroleplay.backend.entity.CharacterEntity;
 import ru.nightcityroleplay.backend.entity.Skill;
 import ru.nightcityroleplay.backend.repo.SkillRepository;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static java.util.UUID.randomUUID;
@@ -36,15 +38,15 @@ class SkillServiceTest {
     @BeforeEach
     void setUp() {
         skillRepo = mock(SkillRepository.class);
-        service = new SkillService(skillRepo);
+        service = new SkillService(skillRepo, new SimpleMeterRegistry());
     }
 
     @Test
     void getSkill_skillIsAbsent_throw404() {
         // given
         String skillFamily = randomUUID().toString();
-        when(skillRepo.findBySkillFamilyAndLevel(skillFamily, 1))
-            .thenReturn(Optional.empty());
+        when(skillRepo.findAll())
+            .thenReturn(List.of());
 
         // then
         assertThatThrownBy(() -> service.getSkill(skillFamily))
@@ -66,14 +68,15 @@ class SkillServiceTest {
         request.setTypeIsBattle(true);
 
         // when
-        when(skillRepo.save(any(Skill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(skillRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<CreateSkillResponse> responses = service.createSkillFamily(request);
 
-        ArgumentCaptor<Skill> skillCaptor = ArgumentCaptor.forClass(Skill.class);
-        verify(skillRepo, times(10)).save(skillCaptor.capture());
+        ArgumentCaptor<List<Skill>> skillCaptor = ArgumentCaptor.forClass(List.class);
+        verify(skillRepo, times(1)).saveAll(skillCaptor.capture());
 
-        List<Skill> savedSkills = skillCaptor.getAllValues();
+        List<Skill> savedSkills = skillCaptor.getValue();
+        assertThat(responses.size()).isEqualTo(10);
         UUID skillFamilyId = savedSkills.get(0).getSkillFamilyId();
 
         for (int i = 0; i < 10; i++) {
@@ -97,14 +100,15 @@ class SkillServiceTest {
         request.setTypeIsBattle(false);
 
         // when
-        when(skillRepo.save(any(Skill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(skillRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<CreateSkillResponse> responses = service.createSkillFamily(request);
 
-        ArgumentCaptor<Skill> skillCaptor = ArgumentCaptor.forClass(Skill.class);
-        verify(skillRepo, times(10)).save(skillCaptor.capture());
+        ArgumentCaptor<List<Skill>> skillCaptor = ArgumentCaptor.forClass(List.class);
+        verify(skillRepo, times(1)).saveAll(skillCaptor.capture());
 
-        List<Skill> savedSkills = skillCaptor.getAllValues();
+        List<Skill> savedSkills = skillCaptor.getValue();
+        assertThat(responses.size()).isEqualTo(10);
         for (int i = 0; i < 10; i++) {
             Skill skill = savedSkills.get(i);
             assertThat(skill.getLevel()).isEqualTo(i + 1);
@@ -114,6 +118,78 @@ class SkillServiceTest {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void importSkillFamilies_severalFamilies_savedInOneBatch() {
+        // given
+        CreateSkillRequest pistol = new CreateSkillRequest();
+        pistol.setSkillFamily("Pistol");
+        pistol.setName("Стрельба из пистолетов");
+        pistol.setTypeIsBattle(true);
+        CreateSkillRequest sing = new CreateSkillRequest();
+        sing.setSkillFamily("Sing");
+        sing.setName("Пение");
+        sing.setTypeIsBattle(false);
+        when(skillRepo.findExistingSkillFamilies(anyCollection())).thenReturn(List.of());
+        when(skillRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<CreateSkillResponse> responses = service.importSkillFamilies(
+            new ImportSkillFamiliesRequest(List.of(pistol, sing)));
+
+        // then
+        ArgumentCaptor<List<Skill>> skillCaptor = ArgumentCaptor.forClass(List.class);
+        verify(skillRepo, times(1)).saveAll(skillCaptor.capture());
+        verify(skillRepo, never()).save(any());
+        List<Skill> savedSkills = skillCaptor.getValue();
+        assertThat(responses.size()).isEqualTo(20);
+        assertThat(savedSkills.get(0).getSkillFamily()).isEqualTo("Pistol");
+        assertThat(savedSkills.get(10).getSkillFamily()).isEqualTo("Sing");
+        assertThat(savedSkills.get(10).getSkillFamilyId()).isNotEqualTo(savedSkills.get(0).getSkillFamilyId());
+    }
+
+    @Test
+    void importSkillFamilies_familyAlreadyExists_throw422() {
+        // given
+        CreateSkillRequest pistol = new CreateSkillRequest();
+        pistol.setSkillFamily("Pistol");
+        pistol.setName("Стрельба из пистолетов");
+        pistol.setTypeIsBattle(true);
+        when(skillRepo.findExistingSkillFamilies(anyCollection())).thenReturn(List.of("Pistol"));
+
+        // when
+        var request = new ImportSkillFamiliesRequest(List.of(pistol));
+
+        // then
+        assertThatThrownBy(() -> service.importSkillFamilies(request))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Pistol")
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ResponseStatusException::getStatusCode)
+            .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        verify(skillRepo, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importSkillFamilies_duplicateFamily_throw400() {
+        // given
+        CreateSkillRequest pistol = new CreateSkillRequest();
+        pistol.setSkillFamily("Pistol");
+        pistol.setName("Стрельба из пистолетов");
+        pistol.setTypeIsBattle(true);
+
+        // when
+        var request = new ImportSkillFamiliesRequest(List.of(pistol, pistol));
+
+        // then
+        assertThatThrownBy(() -> service.importSkillFamilies(request))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(ResponseStatusException.class::cast)
+            .extracting(ResponseStatusException::getStatusCode)
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(skillRepo);
+    }
+
     @Test
     void testBuildSkill_ThrowsExceptionForInvalidLevel() {
         // given
@@ -157,18 +233,16 @@ class SkillServiceTest {
     public void deleteSkill_skillExists_success() {
         // given
         UUID skillFamilyId = randomUUID();
+        List<UUID> skillFamilyIds = List.of(skillFamilyId);
 
-        Skill skill = new Skill();
-        skill.setSkillFamilyId(skillFamilyId);
-        skill.setCharacters(List.of());
-
-        when(skillRepo.findBySkillFamilyId(skillFamilyId)).thenReturn(List.of(skill));
+        when(skillRepo.findExistingSkillFamilyIds(skillFamilyIds)).thenReturn(List.of(skillFamilyId));
+        when(skillRepo.existsAssignmentsBySkillFamilyIdIn(skillFamilyIds)).thenReturn(false);
 
         // when
-        service.deleteSkillsBySkillFamilyId(List.of(skillFamilyId));
+        service.deleteSkillsBySkillFamilyId(skillFamilyIds);
 
         // then
-        verify(skillRepo).delete(skill);
+        verify(skillRepo).deleteBySkillFamilyIdIn(skillFamilyIds);
     }
 
     @Test
@@ -177,7 +251,7 @@ class SkillServiceTest {
         UUID skillFamilyId = UUID.randomUUID();
 
         // when
-        when(skillRepo.findBySkillFamilyId(skillFamilyId)).thenReturn(Collections.emptyList());
+        when(skillRepo.findExistingSkillFamilyIds(List.of(skillFamilyId))).thenReturn(Collections.emptyList());
 
         // then
         assertThatThrownBy(() -> service.deleteSkillsBySkillFamilyId(List.of(skillFamilyId)))
@@ -186,117 +260,100 @@ class SkillServiceTest {
             .extracting(ResponseStatusException.class::cast)
             .extracting(ResponseStatusException::getStatusCode)
             .isEqualTo(HttpStatus.NOT_FOUND);
+        verify(skillRepo, never()).deleteBySkillFamilyIdIn(any());
     }
+
     @Test
     public void deleteSkill_unauthorized_throw422() {
         // given
         UUID skillFamilyId = UUID.randomUUID();
+        List<UUID> skillFamilyIds = List.of(skillFamilyId);
 
-        Skill skill = new Skill();
-        skill.setSkillFamilyId(skillFamilyId);
-        skill.setCharacters(List.of(new CharacterEntity()));
-
-        when(skillRepo.findBySkillFamilyId(skillFamilyId)).thenReturn(List.of(skill));
+        when(skillRepo.findExistingSkillFamilyIds(skillFamilyIds)).thenReturn(List.of(skillFamilyId));
+        when(skillRepo.existsAssignmentsBySkillFamilyIdIn(skillFamilyIds)).thenReturn(true);
 
         // then
-        assertThatThrownBy(() -> service.deleteSkillsBySkillFamilyId(List.of(skillFamilyId)))
+        assertThatThrownBy(() -> service.deleteSkillsBySkillFamilyId(skillFamilyIds))
             .isInstanceOf(ResponseStatusException.class)
             .hasMessageContaining("Этот навык есть как минимум у одного персонажа!")
             .extracting(ResponseStatusException.class::cast)
             .extracting(ResponseStatusException::getStatusCode)
             .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        verify(skillRepo, never()).deleteBySkillFamilyIdIn(any());
     }
 
     @Test
-    public void deleteSkillsBySkillFamily_notExist_throw404() {
+    public void deleteSkillsBySkillFamily_oneOfSeveralNotExist_throw404() {
         // given
         UUID a = randomUUID();
-        List<UUID> skillFamilyIds = List.of(a);
-        when(skillRepo.findBySkillFamilyId(a)).thenReturn(Collections.emptyList());
+        UUID b = randomUUID();
+        List<UUID> skillFamilyIds = List.of(a, b);
+        when(skillRepo.findExistingSkillFamilyIds(skillFamilyIds)).thenReturn(List.of(a));
 
         // then
         assertThatThrownBy(() -> service.deleteSkillsBySkillFamilyId(skillFamilyIds))
             .isInstanceOf(ResponseStatusException.class)
-            .hasMessageContaining("Навык " + a +" не найден")
+            .hasMessageContaining("Навык " + b + " не найден")
             .extracting(ResponseStatusException.class::cast)
             .extracting(ResponseStatusException::getStatusCode)
             .isEqualTo(HttpStatus.NOT_FOUND);
+        verify(skillRepo, never()).existsAssignmentsBySkillFamilyIdIn(any());
     }
 
     @Test
-    public void deleteSkillsByNames_existWithCharacters_throw422() {
-        // given
-        UUID b = randomUUID();
-        List<UUID> skillFamilyId = List.of(b);
-
-        Skill skill = new Skill();
-        skill.setCharacters(Collections.singletonList(new CharacterEntity()));
-
-        when(skillRepo.findBySkillFamilyId(b)).thenReturn(List.of(skill));
-
-        // then
-        assertThatThrownBy(() -> service.deleteSkillsBySkillFamilyId(skillFamilyId))
-            .isInstanceOf(ResponseStatusException.class)
-            .hasMessageContaining("Этот навык есть как минимум у одного персонажа!")
-            .extracting(ResponseStatusException.class::cast)
-            .extracting(ResponseStatusException::getStatusCode)
-            .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
-    }
-
-    @Test
-    public void deleteSkillsByNames_existWithoutCharacters_success() {
+    public void deleteSkillsByNames_multipleExistWithoutCharacters_success() {
         // given
-        UUID c = randomUUID();
-        List<UUID> skillFamilyId = List.of(c);
-
-        Skill skill = new Skill();
-        skill.setCharacters(Collections.emptyList());
+        UUID d = randomUUID();
+        UUID e = randomUUID();
+        List<UUID> skillFamilyIds = List.of(d, e);
 
-        when(skillRepo.findBySkillFamilyId(c)).thenReturn(List.of(skill));
+        when(skillRepo.findExistingSkillFamilyIds(skillFamilyIds)).thenReturn(List.of(e, d));
+        when(skillRepo.existsAssignmentsBySkillFamilyIdIn(skillFamilyIds)).thenReturn(false);
 
         // when
-        service.deleteSkillsBySkillFamilyId(skillFamilyId);
+        service.deleteSkillsBySkillFamilyId(skillFamilyIds);
 
         // then
-        verify(skillRepo, times(1)).delete(skill);
+        verify(skillRepo, times(1)).deleteBySkillFamilyIdIn(skillFamilyIds);
+        verify(skillRepo, never()).findBySkillFamilyId(any());
+        verify(skillRepo, never()).delete(any());
     }
 
     @Test
-    public void deleteSkillsByNames_multipleExistWithoutCharacters_success() {
+    public void getUniqueSkillPage_emptyPage_returnsEmptyPage() {
         // given
-        UUID d = randomUUID();
-        UUID e = randomUUID();
-        List<UUID> skillFamilyId = List.of(d, e);
-
-        Skill skillD = new Skill();
-        skillD.setCharacters(Collections.emptyList());
-
-        Skill skillE = new Skill();
-        skillE.setCharacters(Collections.emptyList());
-
-        when(skillRepo.findBySkillFamilyId(e)).thenReturn(List.of(skillD));
-        when(skillRepo.findBySkillFamilyId(d)).thenReturn(List.of(skillE));
+        Pageable pageable = PageRequest.of(0, 10);
+        when(skillRepo.findLowestLevelPerFamily()).thenReturn(List.of());
 
         // when
-        service.deleteSkillsBySkillFamilyId(skillFamilyId);
+        Page<SkillDto> result = service.getUniqueSkillPage(pageable);
 
         // then
-        verify(skillRepo, times(1)).delete(skillD);
-        verify(skillRepo, times(1)).delete(skillE);
+        assertThat(result.getTotalElements()).isEqualTo(0);
     }
 
     @Test
-    public void getUniqueSkillPage_emptyPage_returnsEmptyPage() {
+    public void getUniqueSkillPage_severalFamilies_pagedByFamily() {
         // given
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Skill> skillPage = Page.empty(pageable);
-        when(skillRepo.findAll(pageable)).thenReturn(skillPage);
+        List<Skill> lowestLevels = new ArrayList<>();
+        for (String family : List.of("Атлетика", "Взлом", "Медицина")) {
+            Skill skill = new Skill();
+            skill.setId(randomUUID());
+            skill.setSkillFamily(family);
+            skill.setName(family);
+            skill.setLevel(1);
+            lowestLevels.add(skill);
+        }
+        when(skillRepo.findLowestLevelPerFamily()).thenReturn(lowestLevels);
 
         // when
-        Page<SkillDto> result = service.getUniqueSkillPage(pageable);
+        Page<SkillDto> result = service.getUniqueSkillPage(PageRequest.of(1, 2));
 
         // then
-        assertThat(result.getTotalElements()).isEqualTo(0);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getNumberOfElements()).isEqualTo(1);
+        assertThat(result.getContent().get(0).getSkillFamily()).isEqualTo("Медицина");
+        verify(skillRepo, never()).findAll();
     }
 
     // todo Изменить балк под новую логику навыков
@@ -6,18 +6,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.nightcityroleplay.backend.dto.CursorPage;
 import ru.nightcityroleplay.backend.dto.user.CreateUserRequest;
 import ru.nightcityroleplay.backend.dto.user.CurrentUserDto;
+import ru.nightcityroleplay.backend.dto.user.UserDto;
 import ru.nightcityroleplay.backend.entity.User;
 import ru.nightcityroleplay.backend.repo.UserRepository;
+import ru.nightcityroleplay.backend.util.KeysetCursor;
 
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,8 +77,38 @@ public class UserServiceTest {
         assertEquals("testUser", result.username());
         assertEquals(userId, result.id());
     }
-}
 
+    @Test
+    public void scrollUsers_moreThanSize_nextCursorFromLastUser() {
+        //given
+        UserDto first = new UserDto(UUID.randomUUID(), "alice");
+        UserDto second = new UserDto(UUID.randomUUID(), "bob");
+        UserDto extra = new UserDto(UUID.randomUUID(), "carol");
+        when(userRepo.findDtosOrderedByUsername(PageRequest.of(0, 3))).thenReturn(List.of(first, second, extra));
+
+        //when
+        CursorPage<UserDto> result = userService.scrollUsers(null, 2);
+
+        //then
+        assertEquals(List.of(first, second), result.content());
+        assertEquals(new KeysetCursor("bob", second.id()), KeysetCursor.decode(result.nextCursor()));
+        verify(userRepo, never()).findAll(any(Pageable.class));
+        verify(userRepo, never()).count();
+    }
 
+    @Test
+    public void scrollUsers_lastPortion_noNextCursor() {
+        //given
+        UserDto last = new UserDto(UUID.randomUUID(), "zed");
+        String cursor = new KeysetCursor("bob", UUID.randomUUID()).encode();
+        when(userRepo.findDtosOrderedByUsernameAfter(eq("bob"), any(), eq(PageRequest.of(0, 3))))
+            .thenReturn(List.of(last));
 
+        //when
+        CursorPage<UserDto> result = userService.scrollUsers(cursor, 2);
 
+        //then
+        assertEquals(List.of(last), result.content());
+        assertNull(result.nextCursor());
+    }
+}
@@ -1,6 +1,7 @@
 package ru.nightcityroleplay.backend.service;
 
 import lombok.SneakyThrows;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,7 +10,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -40,7 +41,7 @@ public class WeaponServiceTest {
     @BeforeEach
     void setUp() {
         repo = mock();
-        service = new WeaponService(repo);
+        service = new WeaponService(repo, new SimpleMeterRegistry());
     }
 
     @Test
@@ -114,25 +115,25 @@ public class WeaponServiceTest {
     @Test
     void getWeaponPage_weaponExists_success() {
         // given
-        Pageable pageable = mock();
-        Page<Weapon> weaponPage = mock();
-        when(weaponPage.toList())
+        UUID weaponId = randomUUID();
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repo.findAll())
             .thenReturn(List.of(
                 new Weapon()
+                    .setId(weaponId)
                     .setName("test-weapon")
             ));
-        when(repo.findAll(any(Pageable.class)))
-            .thenReturn(weaponPage);
 
 
         // when
         var result = service.getWeaponPage(pageable);
 
         // then
-        verify(repo).findAll(pageable);
+        verify(repo).findAll();
         assertThat(result.getContent())
             .isEqualTo(List.of(
                 new WeaponDto()
+                    .setId(weaponId)
                     .setName("test-weapon")
             ));
     }
@@ -148,7 +149,7 @@ public class WeaponServiceTest {
         weaponEntity.setWeaponType("test-weapon-type");
         weaponEntity.setPenetration(2);
         weaponEntity.setReputationRequirement(40);
-        when(repo.findById(weaponId)).thenReturn(Optional.of(weaponEntity));
+        when(repo.findAll()).thenReturn(List.of(weaponEntity));
 
         // when
         WeaponDto result = service.getWeapon(weaponId);
@@ -161,7 +162,7 @@ public class WeaponServiceTest {
         assertThat(result.getWeaponType()).isEqualTo("test-weapon-type");
         assertThat(result.getPenetration()).isEqualTo(2);
         assertThat(result.getReputationRequirement()).isEqualTo(40);
-        verify(repo).findById(weaponId);
+        verify(repo).findAll();
     }
 
     @Test
@@ -235,7 +236,6 @@ public class WeaponServiceTest {
         // given
         UUID weaponId = randomUUID();
         Weapon weapon = new Weapon();
-        weapon.setCharacters(Collections.emptyList()); // Оружие без характеристик
 
         when(repo.findById(weaponId)).thenReturn(Optional.of(weapon));
 
@@ -244,6 +244,7 @@ public class WeaponServiceTest {
 
         // then
         verify(repo).findById(weaponId);
+        verify(repo).existsAssignments(weaponId);
         verify(repo).delete(weapon);
     }
 
@@ -253,10 +254,8 @@ public class WeaponServiceTest {
         UUID weaponId = randomUUID();
         Weapon weapon = new Weapon();
 
-        List<CharacterEntity> chars = new ArrayList<>();
-        chars.add(new CharacterEntity());
-        weapon.setCharacters(chars);
         when(repo.findById(weaponId)).thenReturn(Optional.of(weapon));
+        when(repo.existsAssignments(weaponId)).thenReturn(true);
 
         // when
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
@@ -273,10 +272,13 @@ public class WeaponServiceTest {
     @Test
     void getWeaponsBulk_weaponExists_success() {
         // given
-        when(repo.findAllByIdIn(any()))
-            .thenReturn(List.of(new Weapon().setName("a"), new Weapon().setName("b")));
+        Weapon a = new Weapon().setId(randomUUID()).setName("a");
+        Weapon b = new Weapon().setId(randomUUID()).setName("b");
+        Weapon c = new Weapon().setId(randomUUID()).setName("c");
+        when(repo.findAll())
+            .thenReturn(List.of(c, b, a));
         // when
-        List<WeaponDto> weaponsBulk = service.getWeaponsBulk(new IdsRequest(List.of(randomUUID())));
+        List<WeaponDto> weaponsBulk = service.getWeaponsBulk(new IdsRequest(List.of(a.getId(), b.getId())));
 
         // then
         assertThat(weaponsBulk).hasSize(2);
@@ -0,0 +1,58 @@
+package ru.nightcityroleplay.backend.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ru.nightcityroleplay.backend.config.StatsProperties.Threshold;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatTableTest {
+
+    private final StatTable table = StatTable.compile("test", List.of(
+        new Threshold(10, 1),
+        new Threshold(20, 2),
+        new Threshold(25, 3)
+    ));
+
+    @ParameterizedTest
+    @CsvSource({
+        "-100, 1",
+        "0, 1",
+        "10, 1",
+        "19, 1",
+        "20, 2",
+        "24, 2",
+        "25, 3",
+        "1000000, 3"
+    })
+    void get_keyInRange_valueOfPrecedingThreshold(int key, int expected) {
+        // when
+        int result = table.get(key);
+
+        // then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void compile_emptyThresholds_throwsException() {
+        // when & then
+        assertThatThrownBy(() -> StatTable.compile("empty", List.of()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("empty");
+    }
+
+    @Test
+    void compile_unsortedThresholds_throwsException() {
+        // given
+        var thresholds = List.of(new Threshold(20, 2), new Threshold(10, 1));
+
+        // when & then
+        assertThatThrownBy(() -> StatTable.compile("unsorted", thresholds))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("unsorted");
+    }
+}
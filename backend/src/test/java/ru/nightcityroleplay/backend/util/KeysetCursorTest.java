@@ -0,0 +1,49 @@
+package ru.nightcityroleplay.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_encodedCursor_sameCursor() {
+        // given
+        var cursor = new KeysetCursor("Джонни\nСильверхенд", randomUUID());
+
+        // when
+        var decoded = KeysetCursor.decode(cursor.encode());
+
+        // then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_emptyCursor_startOfListing() {
+        // when & then
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("")).isNull();
+    }
+
+    @Test
+    void decode_garbage_throw400() {
+        // when & then
+        assertThatThrownBy(() -> KeysetCursor.decode("не курсор"))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void validateSize_tooLarge_throw400() {
+        // when & then
+        assertThatThrownBy(() -> KeysetCursor.validateSize(KeysetCursor.MAX_SIZE + 1))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}